@@ -5,6 +5,7 @@
 package com.comp2042.UI;
 
 import com.comp2042.core.Score;
+import com.comp2042.logic.bricks.BrickShape;
 import com.comp2042.model.ViewData;
 import javafx.scene.Group;
 import javafx.scene.control.Label;
@@ -15,6 +16,23 @@ import javafx.scene.shape.Rectangle;
 
 public class GameRenderer {
     private static final int BRICK_SIZE = 20;
+    // Tall boards only show this many rows, scrolled to follow the falling brick
+    private static final int MAX_VISIBLE_ROWS = 20;
+    // Next queue preview: how many upcoming bricks are drawn and the cell size of all but the first
+    // Spawn rotations fit in 2 rows by 4 columns once trimmed to their occupied cells
+    private static final int PREVIEW_SLOTS = 5;
+    private static final int QUEUE_BRICK_SIZE = 12;
+    private static final int PREVIEW_ROWS = 2;
+    private static final int PREVIEW_COLUMNS = 4;
+    private static final int PREVIEW_GAP = 8;
+    private static final Paint[] GHOST_COLORS = new Paint[8];
+
+    static {
+        // Built once so drawing the ghost never derives new colours
+        for (int i = 0; i < GHOST_COLORS.length; i++) {
+            GHOST_COLORS[i] = i == 0 ? Color.TRANSPARENT : ((Color) colorFor(i)).deriveColor(0, 1, 1, 0.3);
+        }
+    }
 
     private GridPane gamePanel;
     private GridPane brickPanel;
@@ -27,8 +45,12 @@ public class GameRenderer {
     private Label timerLabel;
 
     private Rectangle[][] displayMatrix;
-    private Rectangle[][] nextBrickRectangles;
+    private Rectangle[][] previewCells;
+    private Group[] previewSlots;
+    private BrickShape[] previewShapes;
     private int[][] currentBoardMatrix;
+    private int viewTop;
+    private int viewRows;
 
     // Constructs a GameRenderer with references to all UI components.
     // param gamePanel: the main game board GridPane
@@ -55,23 +77,27 @@ public class GameRenderer {
     }
 
     // Initializes the game view with the current board state
+    // The board matrix is read in place, only the rows inside the viewport get rectangles
     public void initGameView(int[][] boardMatrix, ViewData viewData) {
         if (boardMatrix == null || boardMatrix.length == 0) {
             throw new IllegalArgumentException("Board matrix cannot be null or empty");
         }
 
-        this.currentBoardMatrix = copyMatrix(boardMatrix);
+        this.currentBoardMatrix = boardMatrix;
+        viewRows = Math.min(boardMatrix.length, MAX_VISIBLE_ROWS);
+        viewTop = 0;
+        updateViewport(viewData);
 
         if (gamePanel != null) {
             gamePanel.getChildren().clear();
         }
 
-        displayMatrix = new Rectangle[boardMatrix.length][boardMatrix[0].length];
+        displayMatrix = new Rectangle[viewRows][boardMatrix[0].length];
 
-        for (int i = 0; i < boardMatrix.length; i++) {
-            for (int j = 0; j < boardMatrix[i].length; j++) {
+        for (int i = 0; i < viewRows; i++) {
+            for (int j = 0; j < boardMatrix[viewTop + i].length; j++) {
                 Rectangle rectangle = new Rectangle(BRICK_SIZE, BRICK_SIZE);
-                rectangle.setFill(getFillColor(boardMatrix[i][j]));
+                rectangle.setFill(getFillColor(boardMatrix[viewTop + i][j]));
                 rectangle.setStroke(Color.GRAY);
                 rectangle.setStrokeWidth(0.5);
                 displayMatrix[i][j] = rectangle;
@@ -85,90 +111,176 @@ public class GameRenderer {
     }
 
     // Refreshes the entire game view with updated data
+    // Brick, next and hold shapes are read straight from the shared registry without copying
     public void refreshGameView(ViewData viewData) {
         if (viewData == null) return;
 
-        refreshGameBackground(currentBoardMatrix);
+        updateViewport(viewData);
+        paintBackground(currentBoardMatrix);
+        drawGhostBrick(viewData);
         drawFallingBrick(viewData);
         updateNextBrickPreview(viewData);
-        updateHoldBrickPreview(viewData.getHoldBrickData());
+        updateHoldBrickPreview(viewData.getHoldBrickShape());
     }
 
     // Updates only the game background (placed bricks)
     public void refreshGameBackground(int[][] board) {
         if (board == null || displayMatrix == null) return;
 
-        this.currentBoardMatrix = copyMatrix(board);
+        currentBoardMatrix = board;
+        paintBackground(board);
+    }
+
+    // Scrolls the viewport so the falling brick and, when they fit together, its landing row are visible
+    // Boards no taller than the viewport never scroll
+    private void updateViewport(ViewData viewData) {
+        if (currentBoardMatrix == null || currentBoardMatrix.length <= viewRows) {
+            viewTop = 0;
+            return;
+        }
+        BrickShape brick = viewData != null ? viewData.getBrickShape() : null;
+        if (brick == null) return;
+
+        int brickTop = viewData.getyPosition() + brick.getMinRow();
+        int ghostBottom = viewData.getGhostYPosition() + brick.getMaxRow() + 1;
+        int top = Math.min(brickTop, ghostBottom - viewRows);
+        viewTop = Math.max(0, Math.min(top, currentBoardMatrix.length - viewRows));
+    }
+
+    // Paints the placed bricks inside the viewport onto the display rectangles
+    private void paintBackground(int[][] board) {
+        if (board == null || displayMatrix == null) return;
 
-        for (int i = 0; i < board.length; i++) {
-            for (int j = 0; j < board[i].length; j++) {
-                if (i < displayMatrix.length && j < displayMatrix[i].length && displayMatrix[i][j] != null) {
-                    setRectangleData(board[i][j], displayMatrix[i][j]);
+        int rows = Math.min(displayMatrix.length, board.length - viewTop);
+        for (int i = 0; i < rows; i++) {
+            int[] boardRow = board[viewTop + i];
+            for (int j = 0; j < boardRow.length; j++) {
+                if (j < displayMatrix[i].length && displayMatrix[i][j] != null) {
+                    setRectangleData(boardRow[j], displayMatrix[i][j]);
                 }
             }
         }
     }
 
+    // Draws a faded copy of the falling brick on the row where it would land
+    private void drawGhostBrick(ViewData viewData) {
+        BrickShape brick = viewData != null ? viewData.getBrickShape() : null;
+        if (brick == null) return;
+
+        int xPos = viewData.getxPosition();
+        int yPos = viewData.getGhostYPosition() - viewTop;
+        Paint ghostColor = GHOST_COLORS[Math.min(brick.getColor(), GHOST_COLORS.length - 1)];
+
+        for (int cell = 0; cell < brick.getCellCount(); cell++) {
+            int gridX = xPos + brick.getCellColumn(cell);
+            int gridY = yPos + brick.getCellRow(cell);
+
+            if (gridY >= 0 && gridY < displayMatrix.length &&
+                    gridX >= 0 && gridX < displayMatrix[0].length) {
+                displayMatrix[gridY][gridX].setFill(ghostColor);
+            }
+        }
+    }
+
     // Draws the currently falling brick
     private void drawFallingBrick(ViewData viewData) {
-        if (viewData == null || viewData.getBrickData() == null) return;
+        BrickShape brick = viewData != null ? viewData.getBrickShape() : null;
+        if (brick == null) return;
 
-        int[][] brickData = viewData.getBrickData();
         int xPos = viewData.getxPosition();
-        int yPos = viewData.getyPosition();
-
-        for (int i = 0; i < brickData.length; i++) {
-            for (int j = 0; j < brickData[i].length; j++) {
-                if (brickData[i][j] != 0) {
-                    int gridX = xPos + j;
-                    int gridY = yPos + i;
-
-                    if (gridY >= 0 && gridY < displayMatrix.length &&
-                            gridX >= 0 && gridX < displayMatrix[0].length) {
-                        setRectangleData(brickData[i][j], displayMatrix[gridY][gridX]);
-                    }
-                }
+        int yPos = viewData.getyPosition() - viewTop;
+
+        for (int cell = 0; cell < brick.getCellCount(); cell++) {
+            int gridX = xPos + brick.getCellColumn(cell);
+            int gridY = yPos + brick.getCellRow(cell);
+
+            if (gridY >= 0 && gridY < displayMatrix.length &&
+                    gridX >= 0 && gridX < displayMatrix[0].length) {
+                setRectangleData(brick.getColor(), displayMatrix[gridY][gridX]);
             }
         }
     }
 
     // Updates the next brick preview panel
+    // The preview nodes are built once, later updates only repaint slots whose brick changed
     private void updateNextBrickPreview(ViewData viewData) {
-        if (brickPanel != null) {
-            brickPanel.getChildren().clear();
+        if (previewCells == null) {
+            buildNextBrickPreview();
+        }
+
+        int count = viewData != null ? Math.min(viewData.getNextCount(), PREVIEW_SLOTS) : 0;
+        for (int slot = 0; slot < PREVIEW_SLOTS; slot++) {
+            BrickShape shape = slot < count ? viewData.getNextShape(slot) : null;
+            if (shape != previewShapes[slot]) {
+                paintPreviewSlot(slot, shape);
+                previewShapes[slot] = shape;
+            }
         }
+    }
 
-        if (viewData != null && viewData.getNextBrickData() != null) {
-            int[][] nextBrickData = viewData.getNextBrickData();
-
-            int rows = nextBrickData.length;
-            int cols = nextBrickData[0].length;
-
-            int panelRows = 4;
-            int panelCols = 4;
-
-            // Center the next brick in the preview panel
-            int rowOffset = (panelRows - rows) / 2;
-            int colOffset = (panelCols - cols) / 2;
-
-            nextBrickRectangles = new Rectangle[nextBrickData.length][nextBrickData[0].length];
-            for (int i = 0; i < nextBrickData.length; i++) {
-                for (int j = 0; j < nextBrickData[i].length; j++) {
-                    if (nextBrickData[i][j] != 0) {
-                        Rectangle rectangle = new Rectangle(BRICK_SIZE, BRICK_SIZE);
-                        rectangle.setFill(getFillColor(nextBrickData[i][j]));
-                        nextBrickRectangles[i][j] = rectangle;
-                        if (brickPanel != null) {
-                            brickPanel.add(rectangle, j + colOffset, i + rowOffset);
-                        }
-                    }
+    // Builds the preview slots, the first one at full size and the rest smaller below it
+    private void buildNextBrickPreview() {
+        previewCells = new Rectangle[PREVIEW_SLOTS][PREVIEW_ROWS * PREVIEW_COLUMNS];
+        previewSlots = new Group[PREVIEW_SLOTS];
+        previewShapes = new BrickShape[PREVIEW_SLOTS];
+        Group preview = new Group();
+
+        double top = 0;
+        for (int slot = 0; slot < PREVIEW_SLOTS; slot++) {
+            double size = previewCellSize(slot);
+            Group slotGroup = new Group();
+            for (int row = 0; row < PREVIEW_ROWS; row++) {
+                for (int column = 0; column < PREVIEW_COLUMNS; column++) {
+                    Rectangle rectangle = new Rectangle(column * size, row * size, size - 1, size - 1);
+                    rectangle.setFill(Color.TRANSPARENT);
+                    rectangle.setArcHeight(5);
+                    rectangle.setArcWidth(5);
+                    previewCells[slot][row * PREVIEW_COLUMNS + column] = rectangle;
+                    slotGroup.getChildren().add(rectangle);
                 }
             }
+            slotGroup.setLayoutY(top);
+            previewSlots[slot] = slotGroup;
+            preview.getChildren().add(slotGroup);
+            top += PREVIEW_ROWS * size + PREVIEW_GAP;
+        }
+
+        if (brickPanel != null) {
+            brickPanel.getChildren().clear();
+            brickPanel.add(preview, 0, 0);
+            // Inline style so the taller panel wins over the stylesheet's fixed preview size
+            brickPanel.setStyle("-fx-pref-height: " + (top + PREVIEW_GAP * 2) + "px;");
         }
     }
 
+    // Paints one preview slot, centring the brick's occupied cells
+    private void paintPreviewSlot(int slot, BrickShape shape) {
+        Rectangle[] cells = previewCells[slot];
+        for (Rectangle cell : cells) {
+            cell.setFill(Color.TRANSPARENT);
+        }
+        if (shape == null) return;
+
+        double size = previewCellSize(slot);
+        int rows = shape.getMaxRow() - shape.getMinRow() + 1;
+        int columns = shape.getMaxColumn() - shape.getMinColumn() + 1;
+        previewSlots[slot].setTranslateX((PREVIEW_COLUMNS - columns) * size / 2);
+        previewSlots[slot].setTranslateY((PREVIEW_ROWS - rows) * size / 2);
+
+        Paint fill = getFillColor(shape.getColor());
+        for (int cell = 0; cell < shape.getCellCount(); cell++) {
+            int row = shape.getCellRow(cell) - shape.getMinRow();
+            int column = shape.getCellColumn(cell) - shape.getMinColumn();
+            cells[row * PREVIEW_COLUMNS + column].setFill(fill);
+        }
+    }
+
+    private static double previewCellSize(int slot) {
+        return slot == 0 ? BRICK_SIZE : QUEUE_BRICK_SIZE;
+    }
+
     // Updates the hold brick preview panel
-    public void updateHoldBrickPreview(int[][] holdBrick) {
+    public void updateHoldBrickPreview(BrickShape holdBrick) {
         if (holdPanel == null) return;
 
         holdPanel.getChildren().clear();
@@ -182,8 +294,8 @@ public class GameRenderer {
             return;
         }
 
-        int rows = holdBrick.length;
-        int cols = holdBrick[0].length;
+        int rows = holdBrick.getRowCount();
+        int cols = holdBrick.getColumnCount();
 
         int panelRows = 4;
         int panelCols = 4;
@@ -192,18 +304,18 @@ public class GameRenderer {
         int rowOffset = (panelRows - rows) / 2;
         int colOffset = (panelCols - cols) / 2;
 
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                if (holdBrick[i][j] != 0) {
-                    Rectangle r = new Rectangle(BRICK_SIZE, BRICK_SIZE);
-                    r.setFill(getFillColor(holdBrick[i][j]));
-                    holdPanel.add(r, j + colOffset, i + rowOffset);
-                }
-            }
+        for (int cell = 0; cell < holdBrick.getCellCount(); cell++) {
+            Rectangle r = new Rectangle(BRICK_SIZE, BRICK_SIZE);
+            r.setFill(getFillColor(holdBrick.getColor()));
+            holdPanel.add(r, holdBrick.getCellColumn(cell) + colOffset, holdBrick.getCellRow(cell) + rowOffset);
         }
     }
 
     private Paint getFillColor(int colorCode) {
+        return colorFor(colorCode);
+    }
+
+    private static Paint colorFor(int colorCode) {
         return switch (colorCode) {
             case 0 -> Color.TRANSPARENT;
             case 1 -> Color.AQUA;
@@ -213,19 +325,11 @@ public class GameRenderer {
             case 5 -> Color.GREEN;
             case 6 -> Color.PURPLE;
             case 7 -> Color.RED;
+            case 8 -> Color.GRAY;
             default -> Color.WHITE;
         };
     }
 
-    private int[][] copyMatrix(int[][] original) {
-        if (original == null) return new int[0][0];
-        int[][] copy = new int[original.length][];
-        for (int i = 0; i < original.length; i++) {
-            copy[i] = original[i].clone();
-        }
-        return copy;
-    }
-
     private void setRectangleData(int color, Rectangle rectangle) {
         if (rectangle != null) {
             rectangle.setFill(getFillColor(color));
@@ -6,6 +6,7 @@ package com.comp2042.UI;
 
 import com.comp2042.core.GameController;
 import com.comp2042.core.Score;
+import com.comp2042.model.ClearRow;
 import com.comp2042.model.DownData;
 import com.comp2042.model.ViewData;
 import com.comp2042.model.events.MoveEvent;
@@ -75,8 +76,14 @@ public class GuiController implements Initializable {
     private GameStateManager gameStateManager;
     private InputEventListener eventListener;
     private Timeline timeLine;
+    private int timelineLevel;
+    // Levels above this are driven by a per-frame gravity timeline instead of one event per row
+    private static final int LAST_TIMED_LEVEL = 20;
+    private static final double FRAME_MS = 1000.0 / 60;
     private GameTimer gameTimer;
     private String currentGameMode = "ZEN";
+    private int boardWidth = GameController.DEFAULT_WIDTH;
+    private int boardHeight = GameController.DEFAULT_HEIGHT;
 
     private Runnable onRestartGame;
 
@@ -156,9 +163,19 @@ public class GuiController implements Initializable {
             homePanel.getZenModeButton().setOnAction(actionEvent -> startGame("ZEN"));
             homePanel.getTimeLimitModeButton().setOnAction(actionEvent -> startGame("TIME_LIMIT"));
             homePanel.getLinesModeButton().setOnAction(actionEvent -> startGame("40_LINES"));
+            homePanel.getCheeseRaceModeButton().setOnAction(actionEvent -> startGame("CHEESE_RACE"));
         }
     }
 
+    // Sets the board size used by the next game, for mega-board events and stress tests
+    // param width: the number of columns, at most GameController.MAX_WIDTH
+    // param height: the number of rows, at most GameController.MAX_HEIGHT
+    public void setBoardSize(int width, int height) {
+        GameController.checkBoardSize(width, height);
+        this.boardWidth = width;
+        this.boardHeight = height;
+    }
+
     // Starts a new game with specified game mode
     private void startGame(String gameMode) {
         System.out.println("Starting game mode: " + gameMode);
@@ -255,10 +272,30 @@ public class GuiController implements Initializable {
         // Start timer when game initializes
         startTimer();
 
-        timeLine = new Timeline(new KeyFrame(
-                Duration.millis(dropSpeed()),  // Use dynamic speed based on level
-                event -> moveDown(new MoveEvent(EventType.DOWN, EventSource.THREAD)))
-        );
+        timelineLevel = 0;
+        startGravityTimeline(currentLevel());  // Use dynamic speed based on level
+    }
+
+    // Builds and starts the gravity timeline for a level
+    // Up to LAST_TIMED_LEVEL the timeline fires once per row, above it fires once per frame
+    // and the controller applies all rows owed for that frame in one landing lookup
+    private void startGravityTimeline(int level) {
+        if (timeLine != null) {
+            timeLine.stop();
+        }
+        if (level > LAST_TIMED_LEVEL && eventListener instanceof GameController gameController) {
+            gameController.setGravity(getGravityForLevel(level));
+            timeLine = new Timeline(new KeyFrame(
+                    Duration.millis(FRAME_MS),
+                    event -> gravityFrame(gameController)
+            ));
+        } else {
+            timeLine = new Timeline(new KeyFrame(
+                    Duration.millis(getSpeedForLevel(level)),
+                    event -> moveDown(MoveEvent.of(EventType.DOWN, EventSource.THREAD))
+            ));
+        }
+        timelineLevel = level;
         timeLine.setCycleCount(Timeline.INDEFINITE);
         timeLine.play();
     }
@@ -282,21 +319,7 @@ public class GuiController implements Initializable {
             refreshGameView(downData.getViewData());
             updateStatsFromGameController();
 
-            // Handle cleared rows
-            if (downData.getClearRow() != null && downData.getClearRow().getLinesRemoved() > 0) {
-                gameRenderer.refreshGameBackground(downData.getClearRow().getNewMatrix());
-
-                // Show score notification
-                if (groupNotification != null) {
-                    try {
-                        NotificationPanel notificationPanel = new NotificationPanel("+" + downData.getClearRow().getScoreBonus());
-                        groupNotification.getChildren().add(notificationPanel);
-                        notificationPanel.showScore(groupNotification.getChildren());
-                    } catch (Exception e) {
-                        System.err.println("Failed to show notification: " + e.getMessage());
-                    }
-                }
-            }
+            showClearNotification(downData.getClearRow());
             return true;
         }
 
@@ -306,6 +329,36 @@ public class GuiController implements Initializable {
         return false;
     }
 
+    // Shows the score notification for a lock that cleared rows
+    // Used by both the timed and the frame gravity paths, the controller has already repainted the background
+    // param clearRow: the rows cleared by the lock, or null if nothing was locked
+    private void showClearNotification(ClearRow clearRow) {
+        if (clearRow == null || clearRow.getLinesRemoved() == 0 || groupNotification == null) {
+            return;
+        }
+        try {
+            NotificationPanel notificationPanel = new NotificationPanel("+" + clearRow.getScoreBonus());
+            groupNotification.getChildren().add(notificationPanel);
+            notificationPanel.showScore(groupNotification.getChildren());
+        } catch (Exception e) {
+            System.err.println("Failed to show notification: " + e.getMessage());
+        }
+    }
+
+    // Runs one gravity frame and refreshes the view
+    private void gravityFrame(GameController gameController) {
+        if (gameStateManager.isPause()) return;
+
+        DownData downData = gameController.onGravityFrame();
+        if (downData != null) {
+            refreshGameView(downData.getViewData());
+            if (downData.getClearRow() != null) {
+                updateStatsFromGameController();
+                showClearNotification(downData.getClearRow());
+            }
+        }
+    }
+
     // Updates stats from game controller
     private void updateStatsFromGameController() {
         if (eventListener instanceof GameController) {
@@ -358,16 +411,10 @@ public class GuiController implements Initializable {
     }
 
     // Updates game speed based on current level
+    // The timeline is only rebuilt when the level changes, not on every stats refresh
     private void updateGameSpeed(int level) {
-        if (timeLine != null) {
-            timeLine.stop();
-            long newDropSpeed = getSpeedForLevel(level);
-            timeLine = new Timeline(new KeyFrame(
-                    Duration.millis(newDropSpeed),
-                    event -> moveDown(new MoveEvent(EventType.DOWN, EventSource.THREAD))
-            ));
-            timeLine.setCycleCount(Timeline.INDEFINITE);
-            timeLine.play();
+        if (timeLine != null && level != timelineLevel) {
+            startGravityTimeline(level);
         }
     }
 
@@ -426,7 +473,9 @@ public class GuiController implements Initializable {
             try {
                 NotificationPanel notificationPanel = new NotificationPanel(message);
 
-                if (message.contains("TETRIS")) {
+                if (message.contains("SPIN")) {
+                    notificationPanel.setStyle("-fx-background-color: #aa44ff; -fx-text-fill: white; -fx-font-weight: bold;");
+                } else if (message.contains("TETRIS")) {
                     notificationPanel.setStyle("-fx-background-color: #ff4444; -fx-text-fill: white; -fx-font-weight: bold;");
                 } else if (message.contains("TRIPLE")) {
                     notificationPanel.setStyle("-fx-background-color: #ffaa00; -fx-text-fill: black; -fx-font-weight: bold;");
@@ -529,7 +578,7 @@ public class GuiController implements Initializable {
 
         // create a new GameController instance to ensure fresh state
         System.out.println("Creating NEW GameController instance...");
-        eventListener = new GameController(this);  // Always create new
+        eventListener = new GameController(this, boardWidth, boardHeight);  // Always create new
 
         if (eventListener instanceof GameController gameController) {
             System.out.println("GameController created, calling createNewGame()...");
@@ -538,14 +587,22 @@ public class GuiController implements Initializable {
             if ("40_LINES".equals(currentGameMode)) {
                 gameController.set40LinesMode(true);
                 gameController.setTimeLimitMode(false);
+                gameController.setCheeseRaceMode(false);
                 System.out.println("40 Lines mode ACTIVATED");
             } else if ("TIME_LIMIT".equals(currentGameMode)) {
                 gameController.set40LinesMode(false);
                 gameController.setTimeLimitMode(true);
+                gameController.setCheeseRaceMode(false);
                 System.out.println("Time Limit mode ACTIVATED");
+            } else if ("CHEESE_RACE".equals(currentGameMode)) {
+                gameController.set40LinesMode(false);
+                gameController.setTimeLimitMode(false);
+                gameController.setCheeseRaceMode(true);
+                System.out.println("Cheese Race mode ACTIVATED");
             } else {
                 gameController.set40LinesMode(false);
                 gameController.setTimeLimitMode(false);
+                gameController.setCheeseRaceMode(false);
                 System.out.println("Zen mode ACTIVATED");
             }
 
@@ -569,8 +626,8 @@ public class GuiController implements Initializable {
         }
     }
 
-    // Calculates current drop speed based on level
-    private long dropSpeed() {
+    // Gets the current level from the game controller
+    private int currentLevel() {
         int level = 1; // Default to level 1
 
         if (eventListener instanceof GameController) {
@@ -580,7 +637,7 @@ public class GuiController implements Initializable {
             level = Math.max(1, level);
         }
 
-        return getSpeedForLevel(level);
+        return level;
     }
 
     // Gets drop speed for specific level
@@ -606,6 +663,12 @@ public class GuiController implements Initializable {
         };
     }
 
+    // Gets gravity for levels above LAST_TIMED_LEVEL in 1/GameController.GRAVITY_UNIT rows per frame
+    // Ramps by 1G per level and reaches 20G at level 40
+    private int getGravityForLevel(int level) {
+        return Math.min(GameController.GRAVITY_20G, (level - LAST_TIMED_LEVEL) * GameController.GRAVITY_UNIT);
+    }
+
     // Toggles game pause state
     public void pauseGame() {
         gameStateManager.togglePause();
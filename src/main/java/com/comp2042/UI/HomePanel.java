@@ -13,6 +13,7 @@ public class HomePanel extends VBox {
     private final Button zenModeButton;
     private final Button timeLimitModeButton;
     private final Button linesModeButton;
+    private final Button cheeseRaceModeButton;
     private final Label titleLabel;
     private final Label subtitleLabel;
 
@@ -59,12 +60,17 @@ public class HomePanel extends VBox {
                 "Clear 40 lines as fast as you can",
                 "-fx-background-color: linear-gradient(to bottom, #FF9800, #E65100);");
 
+        // Cheese Race Mode Button
+        cheeseRaceModeButton = createModeButton("CHEESE RACE",
+                "Dig through 18 garbage lines",
+                "-fx-background-color: linear-gradient(to bottom, #9E9E9E, #424242);");
+
         // Button Container
         VBox buttonContainer = new VBox(25);
         buttonContainer.setAlignment(Pos.CENTER);
         buttonContainer.setMaxWidth(300);
         buttonContainer.getChildren().addAll(
-                zenModeButton, timeLimitModeButton, linesModeButton
+                zenModeButton, timeLimitModeButton, linesModeButton, cheeseRaceModeButton
         );
 
         getChildren().addAll(titleLabel, subtitleLabel, buttonContainer);
@@ -150,6 +156,12 @@ public class HomePanel extends VBox {
         return linesModeButton;
     }
 
+    // Gets the cheese race mode button
+    // Returns the button for selecting cheese race mode
+    public Button getCheeseRaceModeButton() {
+        return cheeseRaceModeButton;
+    }
+
     // Shows the home panel
     // Makes the panel visible and brings it to the front
     public void showPanel() {
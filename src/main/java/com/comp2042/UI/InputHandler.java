@@ -57,22 +57,30 @@ public class InputHandler {
         switch (code) {
             case LEFT:  // Move brick left
             case A:
-                guiController.refreshGameView(eventListener.onLeftEvent(new MoveEvent(EventType.LEFT, EventSource.USER)));
+                guiController.refreshGameView(eventListener.onLeftEvent(MoveEvent.of(EventType.LEFT, EventSource.USER)));
                 keyEvent.consume();
                 break;
             case RIGHT: // Move brick right
             case D:
-                guiController.refreshGameView(eventListener.onRightEvent(new MoveEvent(EventType.RIGHT, EventSource.USER)));
+                guiController.refreshGameView(eventListener.onRightEvent(MoveEvent.of(EventType.RIGHT, EventSource.USER)));
                 keyEvent.consume();
                 break;
             case UP:    // Rotate brick
             case W:
-                guiController.refreshGameView(eventListener.onRotateEvent(new MoveEvent(EventType.ROTATE, EventSource.USER)));
+                guiController.refreshGameView(eventListener.onRotateEvent(MoveEvent.of(EventType.ROTATE, EventSource.USER)));
+                keyEvent.consume();
+                break;
+            case X:     // Rotate brick clockwise
+                guiController.refreshGameView(eventListener.onRotateEvent(MoveEvent.of(EventType.ROTATE_CLOCKWISE, EventSource.USER)));
+                keyEvent.consume();
+                break;
+            case Q:     // Rotate brick 180 degrees
+                guiController.refreshGameView(eventListener.onRotateEvent(MoveEvent.of(EventType.ROTATE_180, EventSource.USER)));
                 keyEvent.consume();
                 break;
             case DOWN:  // Move brick down
             case S:
-                guiController.moveDown(new MoveEvent(EventType.DOWN, EventSource.USER));
+                guiController.moveDown(MoveEvent.of(EventType.DOWN, EventSource.USER));
                 keyEvent.consume();
                 break;
             case SPACE: // Hard drop
@@ -83,7 +91,7 @@ public class InputHandler {
                 keyEvent.consume();
                 break;
             case C: // Hold brick
-                ViewData holdView = eventListener.onHoldEvent(new MoveEvent(EventType.HOLD, EventSource.USER));
+                ViewData holdView = eventListener.onHoldEvent(MoveEvent.of(EventType.HOLD, EventSource.USER));
                 if (holdView != null) {
                     guiController.refreshGameView(holdView);
                 }
@@ -0,0 +1,458 @@
+// Steps many independent games at once, for reinforcement learning and Monte-Carlo search
+// Boards are held as structure-of-arrays primitives: row r of every game sits side by side at
+// rows[r * lanes + lane], one occupancy bit per column, so a step touches a few long arrays
+// instead of thousands of board objects
+// Each step places one brick per game with a rotation and column, exactly as SimpleBoard.placeBrick
+// does, and scores it with the Score rules the way GameController scores placements
+// Collision and merge with full row detection run for the whole batch through a BatchKernel, on copies
+// of the rows under each brick laid out side by side so the kernel never gathers or scatters,
+// plain loops by default, or the Vector API when asked for and the jdk.incubator.vector module is loaded
+// An engine is not thread safe: to use every core, give each thread its own engine
+
+package com.comp2042.core;
+
+import com.comp2042.logic.bricks.BrickShape;
+import com.comp2042.logic.bricks.BrickShapeRegistry;
+import com.comp2042.logic.bricks.SeededBrickGenerator;
+import com.comp2042.model.SpinType;
+
+public final class BatchEngine {
+
+    // Rows are ints, one bit per column
+    public static final int MAX_WIDTH = Integer.SIZE;
+
+    private static final int BRICK_ROWS = BatchKernel.BRICK_ROWS;
+    private static final String VECTOR_KERNEL = "com.comp2042.core.VectorBatchKernel";
+
+    private final int lanes;
+    private final int width;
+    private final int height;
+    private final int fullMask;
+    private final BatchKernel kernel;
+    private final SeededBrickGenerator[] generators;
+
+    // Board state, lane by lane
+    private final int[] rows;
+    private final int[] columnTops;
+    private final int[] topRows;
+    private final int[] filledCells;
+    private final boolean[] toppedOut;
+
+    // Falling brick of each lane, at its spawn position
+    private final int[] pieceIds;
+    private final int[] spawnX;
+    private final int[] spawnY;
+
+    // Score.saveState values of each lane, replayed through one Score object
+    private final int[] scores;
+    private final Score score = new Score();
+
+    // Per step buffers: the brick rows handed to the kernel, where their board rows came from
+    // and what each lane is doing
+    private final int[] rowIndex;
+    private final int[] coveredRows;
+    private final int[] masks;
+    private final int[] hits;
+    private final int[] fullRows;
+    private final int[] placedY;
+    private final boolean[] placing;
+
+    // Constructs an engine with the scalar kernel
+    // param width: the number of columns, between GameController.MIN_SIZE and MAX_WIDTH
+    // param height: the number of rows
+    // param generators: one brick generator per game, the batch size is their count
+    public BatchEngine(int width, int height, SeededBrickGenerator[] generators) {
+        this(width, height, generators, false);
+    }
+
+    // Constructs an engine with a choice of kernel
+    // The vector kernel is opt-in because it needs the incubator module, see BatchEngineBenchmark for
+    // how it compares with the scalar one
+    // param width: the number of columns, between GameController.MIN_SIZE and MAX_WIDTH
+    // param height: the number of rows
+    // param generators: one brick generator per game, the batch size is their count
+    // param vectorize: true to use the Vector API, ignored when the module is not loaded
+    public BatchEngine(int width, int height, SeededBrickGenerator[] generators, boolean vectorize) {
+        GameController.checkBoardSize(width, height);
+        if (width > MAX_WIDTH) {
+            throw new IllegalArgumentException("Batch boards are at most " + MAX_WIDTH + " columns wide");
+        }
+        if (generators.length == 0) {
+            throw new IllegalArgumentException("A batch needs at least one game");
+        }
+        this.width = width;
+        this.height = height;
+        this.lanes = generators.length;
+        this.fullMask = (int) ((1L << width) - 1);
+        this.generators = generators.clone();
+        this.kernel = createKernel(vectorize);
+        score.setLogging(false);
+
+        rows = new int[height * lanes];
+        columnTops = new int[width * lanes];
+        topRows = new int[lanes];
+        filledCells = new int[lanes];
+        toppedOut = new boolean[lanes];
+        pieceIds = new int[lanes];
+        spawnX = new int[lanes];
+        spawnY = new int[lanes];
+        scores = new int[lanes * Score.STATE_SIZE];
+        rowIndex = new int[BRICK_ROWS * lanes];
+        coveredRows = new int[BRICK_ROWS * lanes];
+        masks = new int[BRICK_ROWS * lanes];
+        hits = new int[lanes];
+        fullRows = new int[lanes];
+        placedY = new int[lanes];
+        placing = new boolean[lanes];
+        reset();
+    }
+
+    // Checks if the Vector API kernel can be used
+    // It is only built with the vector profile, and the module has to be added with --add-modules jdk.incubator.vector
+    public static boolean isVectorApiAvailable() {
+        return isVectorModuleLoaded() && loadVectorKernel() != null;
+    }
+
+    private static boolean isVectorModuleLoaded() {
+        return ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    }
+
+    // Checks if this engine runs its kernel on the Vector API
+    public boolean isVectorized() {
+        return !(kernel instanceof ScalarBatchKernel);
+    }
+
+    private static BatchKernel createKernel(boolean vectorize) {
+        BatchKernel vectorKernel = vectorize && isVectorModuleLoaded() ? loadVectorKernel() : null;
+        return vectorKernel != null ? vectorKernel : new ScalarBatchKernel();
+    }
+
+    // Loads the vector kernel by name, so the default build never needs the incubator module
+    // Returns null when it was not compiled in
+    private static BatchKernel loadVectorKernel() {
+        try {
+            return (BatchKernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    // Starts a new game on every board
+    public void reset() {
+        for (int lane = 0; lane < lanes; lane++) {
+            resetBoard(lane);
+        }
+    }
+
+    // Starts a new game on one board, taking the next brick from its generator like SimpleBoard.newGame
+    // param lane: the board to reset
+    public void resetBoard(int lane) {
+        for (int row = 0; row < height; row++) {
+            rows[row * lanes + lane] = 0;
+        }
+        for (int column = 0; column < width; column++) {
+            columnTops[column * lanes + lane] = height;
+        }
+        topRows[lane] = height;
+        filledCells[lane] = 0;
+        score.reset();
+        score.saveState(scores, lane * Score.STATE_SIZE);
+        toppedOut[lane] = !spawnNext(lane) || collides(lane, spawnShape(lane), spawnX[lane], spawnY[lane]);
+    }
+
+    // Places the falling brick of every board that is still playing
+    // Each brick is checked at its spawn row in the requested rotation and column, dropped, merged,
+    // cleared and scored, then the next brick spawns; a board stops at its first top out
+    // param rotations: the rotation of each board's brick
+    // param columns: the column of each board's brick, as for SimpleBoard.placeBrick
+    // param results: receives the packed Placement result of each board, Placement.INVALID for
+    //                boards whose brick does not fit and boards that have topped out
+    // Returns the number of boards that placed a brick
+    public int step(int[] rotations, int[] columns, int[] results) {
+        // Check each brick where it spawned
+        for (int lane = 0; lane < lanes; lane++) {
+            results[lane] = Placement.INVALID;
+            int pieceId = pieceIds[lane];
+            int rotation = rotations[lane];
+            placing[lane] = !toppedOut[lane] && rotation >= 0
+                    && rotation < BrickShapeRegistry.getRotationCount(pieceId)
+                    && setBrickRows(lane, BrickShapeRegistry.getShape(pieceId, rotation), columns[lane], spawnY[lane]);
+            if (!placing[lane]) {
+                clearBrickRows(lane);
+            }
+        }
+        kernel.collide(coveredRows, masks, lanes, hits);
+
+        // Drop the bricks that fit and merge them
+        for (int lane = 0; lane < lanes; lane++) {
+            placing[lane] &= hits[lane] == 0;
+            if (!placing[lane]) {
+                clearBrickRows(lane);
+                continue;
+            }
+            BrickShape shape = BrickShapeRegistry.getShape(pieceIds[lane], rotations[lane]);
+            placedY[lane] = landingRow(lane, shape, columns[lane]);
+            setBrickRows(lane, shape, columns[lane], placedY[lane]);
+        }
+        kernel.merge(coveredRows, masks, lanes, fullMask, fullRows);
+
+        // Clear, score and spawn the next bricks
+        int placed = 0;
+        for (int lane = 0; lane < lanes; lane++) {
+            if (!placing[lane]) {
+                clearBrickRows(lane);
+                continue;
+            }
+            placed++;
+            BrickShape shape = BrickShapeRegistry.getShape(pieceIds[lane], rotations[lane]);
+            int y = placedY[lane];
+            int distance = y - spawnY[lane];
+            int linesCleared = Integer.bitCount(fullRows[lane]);
+            storeBrickRows(lane);
+            lockBrick(lane, shape, columns[lane], y);
+            if (linesCleared > 0) {
+                removeFullRows(lane, y + shape.getMinRow() + 31 - Integer.numberOfLeadingZeros(fullRows[lane]),
+                        linesCleared);
+            }
+            boolean perfectClear = filledCells[lane] == 0;
+            scoreLock(lane, pieceIds[lane], distance, linesCleared, perfectClear);
+            results[lane] = Placement.encode(pieceIds[lane], linesCleared, distance, perfectClear, false);
+
+            // The next brick is checked at its spawn rows in the collide pass below
+            if (!spawnNext(lane) || !setBrickRows(lane, spawnShape(lane), spawnX[lane], spawnY[lane])) {
+                toppedOut[lane] = true;
+                clearBrickRows(lane);
+            }
+        }
+        kernel.collide(coveredRows, masks, lanes, hits);
+
+        for (int lane = 0; lane < lanes; lane++) {
+            if (placing[lane] && (toppedOut[lane] || hits[lane] != 0)) {
+                toppedOut[lane] = true;
+                results[lane] = Placement.withTopOut(results[lane]);
+            }
+        }
+        return placed;
+    }
+
+    // Gets the number of boards in the batch
+    public int getBoardCount() {
+        return lanes;
+    }
+
+    // Gets the number of columns of every board
+    public int getWidth() {
+        return width;
+    }
+
+    // Gets the number of rows of every board
+    public int getHeight() {
+        return height;
+    }
+
+    // Gets one row of a board
+    // param lane: the board
+    // param row: the row index, 0 at the top
+    // Returns a mask with bit c set when column c is filled
+    public int getRow(int lane, int row) {
+        return rows[row * lanes + lane];
+    }
+
+    // Gets the registry id of a board's falling brick
+    public int getPieceId(int lane) {
+        return pieceIds[lane];
+    }
+
+    // Gets the number of filled cells on a board
+    public int getFilledCellCount(int lane) {
+        return filledCells[lane];
+    }
+
+    // Gets the number of rows from the floor up to the highest non-empty row of a board
+    public int getStackHeight(int lane) {
+        return height - topRows[lane];
+    }
+
+    // Gets the surface height of one column of a board
+    public int getColumnHeight(int lane, int column) {
+        return height - columnTops[column * lanes + lane];
+    }
+
+    // Checks if a board has topped out, it stays stopped until resetBoard
+    public boolean isToppedOut(int lane) {
+        return toppedOut[lane];
+    }
+
+    // Gets the points of a board
+    public int getScore(int lane) {
+        return scores[lane * Score.STATE_SIZE];
+    }
+
+    // Gets the level of a board
+    public int getLevel(int lane) {
+        return scores[lane * Score.STATE_SIZE + 1];
+    }
+
+    // Gets the lines cleared on a board
+    public int getTotalLinesCleared(int lane) {
+        return scores[lane * Score.STATE_SIZE + 2];
+    }
+
+    // Gets the combo count of a board
+    public int getComboCount(int lane) {
+        return scores[lane * Score.STATE_SIZE + 3];
+    }
+
+    // Copies every scoring value of a board in Score.saveState order
+    // param lane: the board
+    // param into: the buffer to write Score.STATE_SIZE values to
+    // param offset: the index of the first value
+    public void copyScoreState(int lane, int[] into, int offset) {
+        System.arraycopy(scores, lane * Score.STATE_SIZE, into, offset, Score.STATE_SIZE);
+    }
+
+    // Deals the next brick of a lane and sets its spawn position like SimpleBoard
+    // Returns false if the spawn rows are not on the board
+    private boolean spawnNext(int lane) {
+        generators[lane].deal(pieceIds, lane, 1);
+        BrickShape shape = spawnShape(lane);
+        spawnX[lane] = width / 2 - shape.getColumnCount() / 2;
+        spawnY[lane] = Math.max(0, topRows[lane] - SimpleBoard.SPAWN_ROWS_ABOVE_STACK);
+        return spawnY[lane] + shape.getMaxRow() < height;
+    }
+
+    private BrickShape spawnShape(int lane) {
+        return BrickShapeRegistry.getShape(pieceIds[lane], 0);
+    }
+
+    // Writes a lane's brick rows for the kernel, with a copy of the board row under each one
+    // Returns false, leaving the rows unset, if the brick is not inside the board
+    private boolean setBrickRows(int lane, BrickShape shape, int x, int y) {
+        if (x + shape.getMinColumn() < 0 || x + shape.getMaxColumn() >= width
+                || y + shape.getMinRow() < 0 || y + shape.getMaxRow() >= height) {
+            return false;
+        }
+        for (int k = 0; k < BRICK_ROWS; k++) {
+            int shapeRow = shape.getMinRow() + k;
+            int i = k * lanes + lane;
+            if (shapeRow <= shape.getMaxRow()) {
+                rowIndex[i] = (y + shapeRow) * lanes + lane;
+                coveredRows[i] = rows[rowIndex[i]];
+                masks[i] = shift(shape.getRowMask(shapeRow), x);
+            } else {
+                rowIndex[i] = lane;
+                coveredRows[i] = 0;
+                masks[i] = 0;
+            }
+        }
+        return true;
+    }
+
+    // Copies the rows the kernel merged a lane's brick into back to the board
+    private void storeBrickRows(int lane) {
+        for (int k = 0; k < BRICK_ROWS; k++) {
+            int i = k * lanes + lane;
+            if (masks[i] != 0) {
+                rows[rowIndex[i]] = coveredRows[i];
+            }
+        }
+    }
+
+    // Points a lane's brick rows at row 0 with empty masks, so the kernel leaves the lane alone
+    private void clearBrickRows(int lane) {
+        for (int k = 0; k < BRICK_ROWS; k++) {
+            rowIndex[k * lanes + lane] = lane;
+            coveredRows[k * lanes + lane] = 0;
+            masks[k * lanes + lane] = 0;
+        }
+    }
+
+    // Finds the row a brick dropped from its spawn row lands on, the same way as SimpleBoard.getDropDistance
+    private int landingRow(int lane, BrickShape shape, int x) {
+        int landing = Integer.MAX_VALUE;
+        for (int column = shape.getMinColumn(); column <= shape.getMaxColumn(); column++) {
+            int bottom = shape.getColumnBottom(column);
+            if (bottom >= 0) {
+                landing = Math.min(landing, columnTops[(x + column) * lanes + lane] - 1 - bottom);
+            }
+        }
+        int y = spawnY[lane];
+        if (y <= landing) {
+            return landing;
+        }
+        // The brick is under an overhang, the surface does not apply
+        while (!collides(lane, shape, x, y + 1)) {
+            y++;
+        }
+        return y;
+    }
+
+    // Checks one lane's brick against its rows, for the few checks that are not batched
+    private boolean collides(int lane, BrickShape shape, int x, int y) {
+        if (x + shape.getMinColumn() < 0 || x + shape.getMaxColumn() >= width) {
+            return true;
+        }
+        for (int row = shape.getMinRow(); row <= shape.getMaxRow(); row++) {
+            int boardRow = y + row;
+            if (boardRow < 0 || boardRow >= height) {
+                return true;
+            }
+            if ((rows[boardRow * lanes + lane] & shift(shape.getRowMask(row), x)) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Updates the counters of a lane for a brick the kernel merged
+    private void lockBrick(int lane, BrickShape shape, int x, int y) {
+        for (int column = shape.getMinColumn(); column <= shape.getMaxColumn(); column++) {
+            int top = shape.getColumnTop(column);
+            if (top >= 0) {
+                int i = (x + column) * lanes + lane;
+                columnTops[i] = Math.min(columnTops[i], y + top);
+            }
+        }
+        topRows[lane] = Math.min(topRows[lane], y + shape.getMinRow());
+        filledCells[lane] += shape.getCellCount();
+    }
+
+    // Removes the full rows of a lane, moving the rows above them down
+    // Only rows the brick covered can be full, so the scan starts at the lowest of them
+    private void removeFullRows(int lane, int bottom, int linesCleared) {
+        int top = topRows[lane];
+        int target = bottom;
+        for (int row = bottom; row >= top; row--) {
+            int value = rows[row * lanes + lane];
+            if (value != fullMask) {
+                rows[target * lanes + lane] = value;
+                target--;
+            }
+        }
+        for (int row = target; row >= top; row--) {
+            rows[row * lanes + lane] = 0;
+        }
+        topRows[lane] = top + linesCleared;
+        filledCells[lane] -= linesCleared * width;
+
+        for (int column = 0; column < width; column++) {
+            int row = topRows[lane];
+            while (row < height && (rows[row * lanes + lane] & (1 << column)) == 0) {
+                row++;
+            }
+            columnTops[column * lanes + lane] = row;
+        }
+    }
+
+    // Scores a lock with the shared Score rules, placements are never spins
+    private void scoreLock(int lane, int pieceId, int dropDistance, int linesCleared, boolean perfectClear) {
+        int offset = lane * Score.STATE_SIZE;
+        score.restoreState(scores, offset);
+        score.scoreLock(dropDistance, linesCleared, perfectClear, SpinType.NONE, pieceId);
+        score.saveState(scores, offset);
+    }
+
+    private static int shift(long shapeRow, int x) {
+        return (int) (x >= 0 ? shapeRow << x : shapeRow >>> -x);
+    }
+}
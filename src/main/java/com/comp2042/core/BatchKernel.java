@@ -0,0 +1,29 @@
+// The per-row work of a BatchEngine step, done for every game of the batch in one pass
+// Brick rows are given as parallel arrays: for brick row k of lane b, coveredRows[k * lanes + b]
+// is a copy of the board row under it and masks[k * lanes + b] is the brick row shifted to its column,
+// 0 for rows the brick does not use
+// The engine copies the board rows in and the merged rows back out, so a kernel only reads and
+// writes consecutive elements and needs no gathers or scatters
+
+package com.comp2042.core;
+
+interface BatchKernel {
+
+    // Rows a brick can cover
+    int BRICK_ROWS = 4;
+
+    // Checks every lane's brick rows against the board rows
+    // param coveredRows: the board row under each brick row
+    // param masks: the brick row masks
+    // param lanes: the number of lanes
+    // param hits: receives 1 for lanes whose brick overlaps a filled cell, 0 otherwise
+    void collide(int[] coveredRows, int[] masks, int lanes, int[] hits);
+
+    // ORs every lane's brick rows into the covered rows and flags the rows that became full
+    // param coveredRows: the board row under each brick row, replaced by the merged row
+    // param masks: the brick row masks
+    // param lanes: the number of lanes
+    // param fullMask: the value of a full row
+    // param fullRows: receives, for each lane, bit k set when brick row k completed its board row
+    void merge(int[] coveredRows, int[] masks, int lanes, int fullMask, int[] fullRows);
+}
@@ -0,0 +1,105 @@
+// Board implementation that also keeps one occupancy bitmask per row, which only speeds up collision
+// Collision tests each brick row with one shift and one AND instead of a per-cell loop
+// Everything else is SimpleBoard's: merge writes cells, colours, hash and features cell by cell and then
+// ORs the brick into the masks, and full rows are found by SimpleBoard's per-row fill counts
+
+package com.comp2042.core;
+
+import com.comp2042.logic.bricks.BrickGenerator;
+import com.comp2042.logic.bricks.BrickShape;
+import com.comp2042.logic.bricks.RandomBrickGenerator;
+
+import java.util.Arrays;
+
+public class BitboardBoard extends SimpleBoard {
+
+    private static final int MAX_WIDTH = Long.SIZE;
+
+    private final long[] rowBits;
+
+    // Constructs a BitboardBoard with specified dimensions
+    // param width: the width of the game board in cells (at most 64)
+    // param height: the height of the game board in cells
+    public BitboardBoard(int width, int height) {
+        this(width, height, new RandomBrickGenerator());
+    }
+
+    // Constructs a BitboardBoard that takes its bricks from the given generator
+    public BitboardBoard(int width, int height, BrickGenerator brickGenerator) {
+        super(width, height, brickGenerator);
+        if (width < 1 || width > MAX_WIDTH) {
+            throw new IllegalArgumentException("Bitboard width must be between 1 and " + MAX_WIDTH);
+        }
+        rowBits = new long[height];
+    }
+
+    // Checks a brick against the row masks of the board
+    // Each shape row is one shift and one AND instead of a per-cell loop
+    @Override
+    protected boolean collides(BrickShape shape, int x, int y) {
+        if (x + shape.getMinColumn() < 0 || x + shape.getMaxColumn() >= getWidth()) {
+            return true;
+        }
+
+        for (int row = shape.getMinRow(); row <= shape.getMaxRow(); row++) {
+            int boardRow = y + row;
+            if (boardRow < 0 || boardRow >= rowBits.length) {
+                return true;
+            }
+            if ((rowBits[boardRow] & shift(shape.getRowMask(row), x)) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Merges the brick the SimpleBoard way, then ORs its rows into the row masks so collision sees it
+    @Override
+    protected void mergeShape(BrickShape shape, int x, int y) {
+        super.mergeShape(shape, x, y);
+        for (int row = shape.getMinRow(); row <= shape.getMaxRow(); row++) {
+            rowBits[y + row] |= shift(shape.getRowMask(row), x);
+        }
+    }
+
+    // Keeps the row masks in step with the rows moved by clearing
+    @Override
+    protected void onRowMoved(int from, int to) {
+        rowBits[to] = rowBits[from];
+    }
+
+    @Override
+    protected void onRowEmptied(int row) {
+        rowBits[row] = 0;
+    }
+
+    // Rebuilds the mask of a row that undo wrote back
+    @Override
+    protected void onRowRestored(int row) {
+        int[] cells = getBoardMatrix()[row];
+        long bits = 0;
+        for (int column = 0; column < cells.length; column++) {
+            if (cells[column] != 0) bits |= 1L << column;
+        }
+        rowBits[row] = bits;
+    }
+
+    // Resets the board and all row masks
+    @Override
+    public void reset() {
+        super.reset();
+        Arrays.fill(rowBits, 0);
+    }
+
+    // Gets the occupancy mask of a row
+    // param row: the row index
+    // Returns a mask with bit x set when column x is filled
+    public long getRowBits(int row) {
+        return rowBits[row];
+    }
+
+    // Shifts a shape row mask to its column on the board
+    private static long shift(long shapeRow, int x) {
+        return x >= 0 ? shapeRow << x : shapeRow >>> -x;
+    }
+}
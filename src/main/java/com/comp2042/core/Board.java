@@ -4,6 +4,7 @@
 package com.comp2042.core;
 
 import com.comp2042.model.ClearRow;
+import com.comp2042.model.SpinType;
 import com.comp2042.model.ViewData;
 
 public interface Board {
@@ -24,6 +25,14 @@ public interface Board {
     // Returns true if rotation was successful, false if blocked
     boolean rotateLeftBrick();
 
+    // Rotates the current brick clockwise
+    // Returns true if rotation was successful, false if blocked
+    boolean rotateRightBrick();
+
+    // Rotates the current brick by 180 degrees
+    // Returns true if rotation was successful, false if blocked
+    boolean rotate180Brick();
+
     // Creates a new brick at the top of the board
     // Returns true if game over (collision at spawn), false otherwise
     boolean createNewBrick();
@@ -33,12 +42,37 @@ public interface Board {
     int[][] getBoardMatrix();
 
     // Gets view data for rendering
+    // The board may refresh and return the same read-only instance on every call, it is not a snapshot
     // Returns ViewData containing current brick, next brick and hold brick
     ViewData getViewData();
 
+    // Gets the number of filled cells on the board
+    // Returns 0 after a perfect clear
+    int getFilledCellCount();
+
+    // Gets the number of rows from the floor up to the highest non-empty row
+    // Returns 0 when the board is empty
+    int getStackHeight();
+
+    // Gets the evaluation features of the board: heights, holes, bumpiness, row transitions and wells
+    // Kept up to date on every merge and clear, touching only the columns and rows that changed
+    BoardFeatures getFeatures();
+
+    // Gets a 64-bit hash of the board cells, the falling brick and the hold
+    // Kept up to date on every merge, clear and brick change, so reading it never scans the board
+    long getStateHash();
+
     // Merges the current brick into the background board
     void mergeBrickToBackground();
 
+    // Gets the spin the last merged brick was locked with
+    // Returns SpinType.NONE if it was not rotated into place
+    SpinType getLastSpin();
+
+    // Gets the piece id of the last merged brick, recorded at merge time with its spin
+    // Returns -1 if no brick has been merged since the game started
+    int getLastLockedPieceId();
+
     // Clears completed rows from the board
     // Returns ClearRow object containing cleared rows data
     ClearRow clearRows();
@@ -56,6 +90,44 @@ public interface Board {
     // Performs a hard drop (instant placement) of the current brick
     void hardDrop();
 
+    // Gets how many rows the current brick can fall before it lands
+    // Returns the drop distance in rows
+    int getDropDistance();
+
+    // Moves the current brick straight down to its landing row without merging it
+    // Returns the number of rows the brick fell
+    int dropBrick();
+
+    // Moves the current brick down by up to rows without merging it, stopping at its landing row
+    // Returns the number of rows the brick fell
+    int applyGravity(int rows);
+
+    // Places the current brick directly in a rotation and column, drops and locks it
+    // Returns a packed Placement result or Placement.INVALID
+    int placeBrick(int rotation, int x);
+
+    // Places the current brick like placeBrick but leaves spawning the next brick to the caller,
+    // so rules that run between the clear and the spawn can still be applied
+    // Returns a packed Placement result without the top out flag, or Placement.INVALID
+    int lockBrickAt(int rotation, int x);
+
+    // Places a sequence of bricks, stopping at the first invalid placement or top out
+    // Returns the number of placements applied, with their packed results in results
+    int placeBricks(int[] rotations, int[] columns, int count, int[] results);
+
+    // Pushes garbage rows in from the bottom of the board, each filled except for one hole
+    // param count: the number of rows to add
+    // param holeColumns: the hole column of each new row, the last one ends up at the bottom
+    // Returns true if the stack was pushed out of the top or the falling brick has no room left
+    boolean addGarbageRows(int count, int[] holeColumns);
+
+    // Gets the number of garbage rows left at the bottom of the board
+    int getGarbageRowCount();
+
+    // Undoes the last locked brick, restoring the board, hold, queue and score from before it spawned
+    // Returns true if a brick was undone, false if there is nothing left to undo
+    boolean undoLastPiece();
+
     // Resets the board to initial state
     void reset();
 }
@@ -0,0 +1,222 @@
+// Evaluation features of a board, kept up to date by the board as bricks lock and rows clear
+// Heights, bumpiness and wells change only around the columns a brick touched, and row
+// transitions only for the rows it touched, so reading the features never scans the matrix
+// Callers get a read-only view, only the owning board in this package can change it
+
+package com.comp2042.core;
+
+import java.util.Arrays;
+
+public final class BoardFeatures {
+
+    // Indices into the feature vector written by copyTo
+    public static final int AGGREGATE_HEIGHT = 0;
+    public static final int MAX_HEIGHT = 1;
+    public static final int HOLES = 2;
+    public static final int BUMPINESS = 3;
+    public static final int ROW_TRANSITIONS = 4;
+    public static final int WELL_DEPTH_SUM = 5;
+    public static final int MAX_WELL_DEPTH = 6;
+    public static final int FEATURE_COUNT = 7;
+
+    private final int width;
+    private final int[] heights;
+    private final int[] wellDepths;
+    private final int[] rowTransitions;
+    private int aggregateHeight;
+    private int bumpiness;
+    private int rowTransitionTotal;
+    private int wellDepthSum;
+    private int filledCells;
+
+    // Maxima are found again on the next read after a height changes
+    private int maxHeight;
+    private int maxWellDepth;
+    private boolean maximaStale;
+
+    // Constructs the features of an empty board
+    // param width: the number of columns
+    // param height: the number of rows
+    BoardFeatures(int width, int height) {
+        this.width = width;
+        heights = new int[width];
+        wellDepths = new int[width];
+        rowTransitions = new int[height];
+    }
+
+    // Gets the sum of all column heights
+    public int getAggregateHeight() {
+        return aggregateHeight;
+    }
+
+    // Gets the height of the tallest column
+    public int getMaxHeight() {
+        updateMaxima();
+        return maxHeight;
+    }
+
+    // Gets the number of empty cells below the surface of their column
+    // Every filled cell lies under its column's surface, so this is the covered area minus the filled cells
+    public int getHoles() {
+        return aggregateHeight - filledCells;
+    }
+
+    // Gets the sum of height differences between neighbouring columns
+    public int getBumpiness() {
+        return bumpiness;
+    }
+
+    // Gets the number of filled to empty changes along every row, counting the walls as filled
+    // Empty rows count as 0
+    public int getRowTransitions() {
+        return rowTransitionTotal;
+    }
+
+    // Gets the sum of the depths of every well
+    // A column's well depth is how far it sits below the lower of its neighbours, walls count as infinitely high
+    public int getWellDepthSum() {
+        return wellDepthSum;
+    }
+
+    // Gets the depth of the deepest well
+    public int getMaxWellDepth() {
+        updateMaxima();
+        return maxWellDepth;
+    }
+
+    // Gets the surface height of one column
+    // param column: the column index
+    public int getColumnHeight(int column) {
+        return heights[column];
+    }
+
+    // Gets the well depth of one column
+    // param column: the column index
+    public int getWellDepth(int column) {
+        return wellDepths[column];
+    }
+
+    // Gets one feature by its index
+    // param feature: one of the feature index constants
+    public int get(int feature) {
+        return switch (feature) {
+            case AGGREGATE_HEIGHT -> aggregateHeight;
+            case MAX_HEIGHT -> getMaxHeight();
+            case HOLES -> getHoles();
+            case BUMPINESS -> bumpiness;
+            case ROW_TRANSITIONS -> rowTransitionTotal;
+            case WELL_DEPTH_SUM -> wellDepthSum;
+            case MAX_WELL_DEPTH -> getMaxWellDepth();
+            default -> throw new IllegalArgumentException("Unknown feature: " + feature);
+        };
+    }
+
+    // Copies the whole feature vector into a caller owned buffer
+    // param into: the buffer to write, at least FEATURE_COUNT long from offset
+    // param offset: the index of the first feature
+    public void copyTo(int[] into, int offset) {
+        updateMaxima();
+        into[offset + AGGREGATE_HEIGHT] = aggregateHeight;
+        into[offset + MAX_HEIGHT] = maxHeight;
+        into[offset + HOLES] = getHoles();
+        into[offset + BUMPINESS] = bumpiness;
+        into[offset + ROW_TRANSITIONS] = rowTransitionTotal;
+        into[offset + WELL_DEPTH_SUM] = wellDepthSum;
+        into[offset + MAX_WELL_DEPTH] = maxWellDepth;
+    }
+
+    // Counts the transitions of one row with the walls counted as filled
+    // param row: the cells of the row
+    // Returns the transition count, 0 for an empty row
+    static int countRowTransitions(int[] row) {
+        int transitions = 0;
+        boolean previousFilled = true;
+        boolean anyFilled = false;
+        for (int value : row) {
+            boolean filled = value != 0;
+            if (filled != previousFilled) {
+                transitions++;
+            }
+            previousFilled = filled;
+            anyFilled |= filled;
+        }
+        if (!previousFilled) {
+            transitions++;
+        }
+        return anyFilled ? transitions : 0;
+    }
+
+    // Sets the surface height of a column and updates the features that depend on it
+    // Only the column and its two neighbours are touched
+    void setColumnHeight(int column, int value) {
+        int old = heights[column];
+        if (old == value) return;
+
+        aggregateHeight += value - old;
+        if (column > 0) {
+            bumpiness += Math.abs(heights[column - 1] - value) - Math.abs(heights[column - 1] - old);
+        }
+        if (column < width - 1) {
+            bumpiness += Math.abs(heights[column + 1] - value) - Math.abs(heights[column + 1] - old);
+        }
+        heights[column] = value;
+
+        for (int c = Math.max(0, column - 1); c <= Math.min(width - 1, column + 1); c++) {
+            updateWellDepth(c);
+        }
+        maximaStale = true;
+    }
+
+    // Sets the transition count of a row
+    void setRowTransitions(int row, int transitions) {
+        rowTransitionTotal += transitions - rowTransitions[row];
+        rowTransitions[row] = transitions;
+    }
+
+    // Gives a row the transition count of the row that moved into it
+    void moveRow(int from, int to) {
+        setRowTransitions(to, rowTransitions[from]);
+    }
+
+    // Sets the number of filled cells on the board, used for the hole count
+    void setFilledCells(int filledCells) {
+        this.filledCells = filledCells;
+    }
+
+    // Resets every feature to the values of an empty board
+    void reset() {
+        Arrays.fill(heights, 0);
+        Arrays.fill(wellDepths, 0);
+        Arrays.fill(rowTransitions, 0);
+        aggregateHeight = 0;
+        bumpiness = 0;
+        rowTransitionTotal = 0;
+        wellDepthSum = 0;
+        filledCells = 0;
+        maxHeight = 0;
+        maxWellDepth = 0;
+        maximaStale = false;
+    }
+
+    private void updateWellDepth(int column) {
+        int left = column > 0 ? heights[column - 1] : Integer.MAX_VALUE;
+        int right = column < width - 1 ? heights[column + 1] : Integer.MAX_VALUE;
+        int rim = Math.min(left, right);
+        int depth = rim == Integer.MAX_VALUE ? 0 : Math.max(0, rim - heights[column]);
+        wellDepthSum += depth - wellDepths[column];
+        wellDepths[column] = depth;
+    }
+
+    private void updateMaxima() {
+        if (!maximaStale) return;
+        int highest = 0;
+        int deepest = 0;
+        for (int column = 0; column < width; column++) {
+            highest = Math.max(highest, heights[column]);
+            deepest = Math.max(deepest, wellDepths[column]);
+        }
+        maxHeight = highest;
+        maxWellDepth = deepest;
+        maximaStale = false;
+    }
+}
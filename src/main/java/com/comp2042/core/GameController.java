@@ -6,17 +6,29 @@ package com.comp2042.core;
 
 import com.comp2042.model.ClearRow;
 import com.comp2042.model.DownData;
+import com.comp2042.model.SpinType;
 import com.comp2042.model.ViewData;
 import com.comp2042.model.events.MoveEvent;
 import com.comp2042.model.events.EventSource;
 import com.comp2042.model.events.InputEventListener;
 import com.comp2042.UI.GuiController;
+import com.comp2042.logic.bricks.BrickShapeRegistry;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
 
 public class GameController implements InputEventListener {
 
-    private Board board = new SimpleBoard(10, 20);
+    public static final int DEFAULT_WIDTH = 10;
+    public static final int DEFAULT_HEIGHT = 20;
+    public static final int MIN_SIZE = 4;
+    public static final int MAX_WIDTH = 64;
+    public static final int MAX_HEIGHT = 8192;
+
+    private final Board board;
     private final GuiController viewGuiController;
     private Score score = new Score();
+    private DownData movedDownData;
     private int hardDropDistance = 0;
     private boolean isSoftDropping = false;
     private boolean gameStarted = false;
@@ -26,11 +38,43 @@ public class GameController implements InputEventListener {
     private boolean isTimeLimitMode = false;
     private long gameStartTime = 0;
     private static final long TIME_LIMIT_MS = 120_000;  // 2 minutes = 120,000 ms
+    private static final int SPIN_MESSAGE_MS = 1500;
+    // Gravity is measured in 1/256 rows per frame, 20G and above drops the brick straight to the surface
+    public static final int GRAVITY_UNIT = 256;
+    public static final int GRAVITY_20G = 20 * GRAVITY_UNIT;
+    private static final int LOCK_DELAY_FRAMES = 30;
+    private int gravity = GRAVITY_UNIT;
+    private int gravityProgress = 0;
+    private int groundedFrames = 0;
+
+    // Cheese race: clear CHEESE_RACE_LINES garbage lines, with at most CHEESE_VISIBLE_ROWS on the board at once
+    public static final int CHEESE_RACE_LINES = 18;
+    public static final int CHEESE_VISIBLE_ROWS = 9;
+    private boolean isCheeseRaceMode = false;
+    private int cheeseLinesLeft = 0;
+    private int lastCheeseHole = -1;
+    private final int[] cheeseHoles = new int[CHEESE_VISIBLE_ROWS];
+    private final int[] garbageHoles;
+    private final SplittableRandom cheeseRandom = new SplittableRandom();
+    private static final String[] SPIN_NAMES = {"I-SPIN", "J-SPIN", "L-SPIN", "O-SPIN", "S-SPIN", "T-SPIN", "Z-SPIN"};
 
     // Constructs a GameController with the specified GUI controller
     public GameController(GuiController c) {
+        this(c, DEFAULT_WIDTH, DEFAULT_HEIGHT);
+    }
+
+    // Constructs a GameController with a board of the given size
+    // param width: the number of columns, between MIN_SIZE and MAX_WIDTH
+    // param height: the number of rows, between MIN_SIZE and MAX_HEIGHT
+    public GameController(GuiController c, int width, int height) {
         System.out.println("=== GAME CONTROLLER CONSTRUCTOR ===");
+        checkBoardSize(width, height);
+        board = new SimpleBoard(width, height);
+        garbageHoles = new int[height];
         viewGuiController = c;
+        if (board instanceof SimpleBoard simpleBoard) {
+            simpleBoard.setScore(score);
+        }
         initializeGameState();
         viewGuiController.setEventListener(this);
         viewGuiController.bindScore(score.scoreProperty());
@@ -50,6 +94,20 @@ public class GameController implements InputEventListener {
         this.linesClearedInMode = 0;
         this.isTimeLimitMode = false;
         this.gameStartTime = 0;
+        this.isCheeseRaceMode = false;
+        this.cheeseLinesLeft = 0;
+        this.gravityProgress = 0;
+        this.groundedFrames = 0;
+    }
+
+    // Checks that a board size is supported
+    // param width: the number of columns
+    // param height: the number of rows
+    public static void checkBoardSize(int width, int height) {
+        if (width < MIN_SIZE || width > MAX_WIDTH || height < MIN_SIZE || height > MAX_HEIGHT) {
+            throw new IllegalArgumentException("Board size must be between " + MIN_SIZE + "x" + MIN_SIZE
+                    + " and " + MAX_WIDTH + "x" + MAX_HEIGHT);
+        }
     }
 
     // Handles down movement events
@@ -78,33 +136,92 @@ public class GameController implements InputEventListener {
         }
 
         if (!canMove) {
-            board.mergeBrickToBackground();
-
-            if (hardDropDistance > 0) {
-                score.addHardDropScore(hardDropDistance);
-                hardDropDistance = 0;
+            clearRow = lockBrick();
+            if (clearRow == null) {
+                return null;
             }
+        }
+        return toDownData(clearRow);
+    }
 
-            clearRow = board.clearRows();
-            if (clearRow.getLinesRemoved() > 0) {
-                handleAdvancedScoring(clearRow.getLinesRemoved());
-            } else {
-                score.piecePlacedWithoutClear();
-            }
+    // Advances gravity by one frame
+    // The rows owed this frame are applied in a single landing lookup instead of one event per row,
+    // and a grounded brick locks once it has rested for LOCK_DELAY_FRAMES without falling further
+    // Returns DownData containing cleared rows and view data or null if game ended
+    public DownData onGravityFrame() {
+        if (!gameStarted || gameEnded) {
+            return null;
+        }
 
-            if (isPerfectClear()) {
-                score.addPerfectClear();
-            }
+        if (isTimeLimitMode && isTimeLimitReached()) {
+            System.out.println("TIME LIMIT REACHED!");
+            onGameOver();
+            return null;
+        }
 
-            if (board.createNewBrick()) {
-                onGameOver();
+        int rows;
+        if (isInstantGravity()) {
+            rows = Integer.MAX_VALUE;
+        } else {
+            gravityProgress += gravity;
+            rows = gravityProgress / GRAVITY_UNIT;
+            gravityProgress %= GRAVITY_UNIT;
+        }
+
+        // The lock delay only runs while the brick rests, a brick that slid off a ledge starts it over
+        ClearRow clearRow = null;
+        if (board.applyGravity(rows) > 0 || board.getDropDistance() > 0) {
+            groundedFrames = 0;
+        } else if (++groundedFrames >= LOCK_DELAY_FRAMES) {
+            clearRow = lockBrick();
+            if (clearRow == null) {
                 return null;
             }
+        }
+        return toDownData(clearRow);
+    }
 
-            viewGuiController.refreshGameBackground(board.getBoardMatrix());
-            isSoftDropping = false;
+    // Locks the current brick, scores it and spawns the next one
+    // Returns the cleared rows or null if the new brick topped out
+    private ClearRow lockBrick() {
+        board.mergeBrickToBackground();
+        ClearRow clearRow = board.clearRows();
+        scoreLock(hardDropDistance, clearRow.getLinesRemoved(), isPerfectClear(), board.getLastSpin(),
+                board.getLastLockedPieceId());
+        hardDropDistance = 0;
+        if (updateCheeseRace()) {
+            return null;
+        }
+
+        if (board.createNewBrick()) {
+            onGameOver();
+            return null;
+        }
+        settleInstantGravity();
+
+        viewGuiController.refreshGameBackground(board.getBoardMatrix());
+        isSoftDropping = false;
+        return clearRow;
+    }
+
+    // Wraps the board's view data after a down move or a lock
+    private DownData toDownData(ClearRow clearRow) {
+        ViewData viewData = board.getViewData();
+        if (clearRow == null) {
+            // Plain moves reuse one DownData, the board refreshes its ViewData in place
+            if (movedDownData == null || movedDownData.getViewData() != viewData) {
+                movedDownData = new DownData(null, viewData);
+            }
+            return movedDownData;
+        }
+        return new DownData(clearRow, viewData);
+    }
+
+    // Keeps the brick on the surface in 20G, so it never shows above its landing row
+    private void settleInstantGravity() {
+        if (isInstantGravity() && board.applyGravity(Integer.MAX_VALUE) > 0) {
+            groundedFrames = 0;
         }
-        return new DownData(clearRow, board.getViewData());
     }
 
     // Handles left movement events
@@ -114,6 +231,7 @@ public class GameController implements InputEventListener {
     public ViewData onLeftEvent(MoveEvent event) {
         if (!gameStarted || gameEnded) return board.getViewData();
         board.moveBrickLeft();
+        settleInstantGravity();
         return board.getViewData();
     }
 
@@ -124,6 +242,7 @@ public class GameController implements InputEventListener {
     public ViewData onRightEvent(MoveEvent event) {
         if (!gameStarted || gameEnded) return board.getViewData();
         board.moveBrickRight();
+        settleInstantGravity();
         return board.getViewData();
     }
 
@@ -133,7 +252,12 @@ public class GameController implements InputEventListener {
     @Override
     public ViewData onRotateEvent(MoveEvent event) {
         if (!gameStarted || gameEnded) return board.getViewData();
-        board.rotateLeftBrick();
+        switch (event.getEventType()) {
+            case ROTATE_CLOCKWISE -> board.rotateRightBrick();
+            case ROTATE_180 -> board.rotate180Brick();
+            default -> board.rotateLeftBrick();
+        }
+        settleInstantGravity();
         return board.getViewData();
     }
 
@@ -145,6 +269,7 @@ public class GameController implements InputEventListener {
         if (!gameStarted || gameEnded) return board.getViewData();
         if (board instanceof SimpleBoard simpleBoard) {
             simpleBoard.holdCurrentBrick();
+            settleInstantGravity();
             return simpleBoard.getViewData();
         }
         return null;
@@ -162,34 +287,18 @@ public class GameController implements InputEventListener {
             return;
         }
 
-        // Reset hardDropDistance
-        hardDropDistance = 0;
-
-        // Count how many rows we can drop
-        while (board.moveBrickDown()) {
-            hardDropDistance++;
-        }
+        // Drop straight to the landing row, the distance also drives the hard drop score
+        hardDropDistance = board.dropBrick();
 
         // Merge the brick and process the result
         board.mergeBrickToBackground();
         ClearRow clearRow = board.clearRows();
 
-        // Add hard drop points
-        if (hardDropDistance > 0) {
-            score.addHardDropScore(hardDropDistance);
-            hardDropDistance = 0;   // Reset after adding points
-        }
-
-        // If hard drop clears line(s), use advanced scoring
-        if (clearRow.getLinesRemoved() > 0) {
-            handleAdvancedScoring(clearRow.getLinesRemoved());
-        } else {
-            score.piecePlacedWithoutClear();
-        }
-
-        // If perfect clear, add perfect clear score
-        if (isPerfectClear()) {
-            score.addPerfectClear();
+        // Add hard drop, line clear and perfect clear points
+        scoreLock(hardDropDistance, clearRow.getLinesRemoved(), isPerfectClear(), board.getLastSpin(),
+                board.getLastLockedPieceId());
+        if (updateCheeseRace()) {
+            return;
         }
 
         boolean collisionAtSpawn = board.createNewBrick();
@@ -197,6 +306,7 @@ public class GameController implements InputEventListener {
             onGameOver();
             return;
         }
+        settleInstantGravity();
 
         viewGuiController.refreshGameBackground(board.getBoardMatrix());
 
@@ -204,14 +314,156 @@ public class GameController implements InputEventListener {
         hardDropDistance = 0;
     }
 
-    // Handles advanced scoring calculations for line clears
-    // param linesCleared: number of lines cleared (1-4)
-    private void handleAdvancedScoring(int linesCleared) {
-        if (linesCleared == 4) {
-            score.addTetrisScore();
+    // Applies a batch of direct placements, for bots and solvers driving the game
+    // Each placement is locked, scored and run through the mode rules like a hard drop before the next
+    // brick spawns, and the view is refreshed once at the end
+    // param rotations: rotation index of each placement
+    // param columns: column of each placement
+    // param count: number of placements to apply
+    // param results: receives the packed Placement result of every applied placement
+    // Returns the number of placements applied, fewer than count if one did not fit or the game ended
+    public int applyPlacements(int[] rotations, int[] columns, int count, int[] results) {
+        if (!gameStarted || gameEnded) return 0;
+
+        int applied = 0;
+        while (applied < count && !gameEnded) {
+            int result = board.lockBrickAt(rotations[applied], columns[applied]);
+            results[applied] = result;
+            if (!Placement.isValid(result)) break;
+            applied++;
+
+            scoreLock(Placement.getDropDistance(result), Placement.getLinesCleared(result),
+                    Placement.isPerfectClear(result), SpinType.NONE, Placement.getPieceId(result));
+            if (gameEnded || updateCheeseRace()) break;
+            if (board.createNewBrick()) {
+                results[applied - 1] = Placement.withTopOut(result);
+                onGameOver();
+            }
+        }
+
+        if (!gameEnded) {
+            viewGuiController.refreshGameBackground(board.getBoardMatrix());
+        }
+        return applied;
+    }
+
+    // Scores one locked brick with the shared Score rules, then announces spins and counts mode lines
+    // param dropDistance: rows fallen by a hard drop, 0 for a normal lock
+    // param linesCleared: number of lines removed by the lock
+    // param perfectClear: true if the board is empty after the clear
+    // param spin: the spin the brick was locked with
+    // param pieceId: the BrickShapeRegistry id of the locked brick
+    private void scoreLock(int dropDistance, int linesCleared, boolean perfectClear, SpinType spin, int pieceId) {
+        score.scoreLock(dropDistance, linesCleared, perfectClear, spin, pieceId);
+        if (spin != SpinType.NONE) {
+            viewGuiController.showSpecialClearMessage(getSpinMessage(pieceId, spin, linesCleared), SPIN_MESSAGE_MS);
+        }
+        trackModeLines(linesCleared);
+    }
+
+    // Sends garbage to this board, as received from an opponent in versus play
+    // All rows share one hole column, the way a single attack arrives
+    // param lines: the number of garbage rows, at most the board height
+    // param holeColumn: the column left open in every row
+    // Returns true if the garbage topped the player out and ended the game
+    public boolean addGarbage(int lines, int holeColumn) {
+        if (!gameStarted || gameEnded || lines <= 0) return false;
+        // More rows than the board holds tops out just the same as a full board's worth
+        int count = Math.min(lines, garbageHoles.length);
+        Arrays.fill(garbageHoles, 0, count, holeColumn);
+        if (board.addGarbageRows(count, garbageHoles)) {
+            onGameOver();
+            return true;
+        }
+        settleInstantGravity();
+        viewGuiController.refreshGameBackground(board.getBoardMatrix());
+        return false;
+    }
+
+    // Tops the cheese back up to CHEESE_VISIBLE_ROWS after a lock and checks whether the race is over
+    // Called after the locked brick is cleared and before the next one spawns, so nothing falling is lifted
+    // Returns true if the race ended, either with every line cleared or by topping out
+    private boolean updateCheeseRace() {
+        if (!isCheeseRaceMode || gameEnded) return false;
+
+        int visible = board.getGarbageRowCount();
+        if (visible == 0 && cheeseLinesLeft == 0) {
+            System.out.println("CHEESE RACE COMPLETED! Calling onGameOver()...");
+            onGameOver();
+            return true;
+        }
+        int count = Math.min(CHEESE_VISIBLE_ROWS - visible, cheeseLinesLeft);
+        if (count <= 0) return false;
+
+        for (int i = 0; i < count; i++) {
+            cheeseHoles[i] = nextCheeseHole();
+        }
+        cheeseLinesLeft -= count;
+        if (board.addGarbageRows(count, cheeseHoles)) {
+            onGameOver();
+            return true;
+        }
+        return false;
+    }
+
+    // Picks a hole column, never the same as the row above it so every row needs its own clear
+    private int nextCheeseHole() {
+        int width = board.getBoardMatrix()[0].length;
+        int hole;
+        if (lastCheeseHole < 0) {
+            hole = cheeseRandom.nextInt(width);
         } else {
-            score.addLineClearScore(linesCleared);
+            hole = cheeseRandom.nextInt(width - 1);
+            if (hole >= lastCheeseHole) hole++;
+        }
+        lastCheeseHole = hole;
+        return hole;
+    }
+
+    // Undoes the last placed brick for practice sessions
+    // The board, hold, queue and score go back to the moment that brick spawned
+    // Returns true if a brick was undone
+    public boolean undoLastPiece() {
+        return rewind(1) == 1;
+    }
+
+    // Undoes several placed bricks, up to as many as the board still remembers
+    // param pieces: the number of bricks to undo
+    // Returns the number of bricks undone
+    public int rewind(int pieces) {
+        if (!gameStarted || gameEnded) return 0;
+
+        int linesBefore = score.getTotalLinesCleared();
+        int undone = 0;
+        while (undone < pieces && board.undoLastPiece()) {
+            undone++;
+        }
+        if (undone > 0) {
+            if (is40LinesMode) {
+                linesClearedInMode -= linesBefore - score.getTotalLinesCleared();
+            }
+            hardDropDistance = 0;
+            isSoftDropping = false;
+            viewGuiController.refreshGameBackground(board.getBoardMatrix());
         }
+        return undone;
+    }
+
+    // Builds the announcement for a spin, e.g. "T-SPIN DOUBLE" or "S-SPIN SINGLE"
+    private static String getSpinMessage(int pieceId, SpinType spin, int linesCleared) {
+        String name = SPIN_NAMES[pieceId] + (spin == SpinType.MINI && pieceId == BrickShapeRegistry.T ? " MINI" : "");
+        return switch (linesCleared) {
+            case 0 -> name;
+            case 1 -> name + " SINGLE";
+            case 2 -> name + " DOUBLE";
+            default -> name + " TRIPLE";
+        };
+    }
+
+    // Tracks cleared lines for the modes that end on a line count
+    // param linesCleared: number of lines cleared by one lock
+    private void trackModeLines(int linesCleared) {
+        if (linesCleared == 0) return;
 
         // Track lines for 40 lines mode
         if (is40LinesMode) {
@@ -226,18 +478,18 @@ public class GameController implements InputEventListener {
         }
     }
 
+    // Enables spin scoring for bricks other than T
+    // param enabled: true to score all-spins
+    public void setAllSpinEnabled(boolean enabled) {
+        if (board instanceof SimpleBoard simpleBoard) {
+            simpleBoard.setAllSpinEnabled(enabled);
+        }
+    }
+
     // Checks if the board is completely empty (perfect clear)
     // Returns true if board has no blocks, false otherwise
     private boolean isPerfectClear() {
-        int[][] boardMatrix = board.getBoardMatrix();
-        for (int y = 0; y < boardMatrix.length; y++) {
-            for (int x = 0; x < boardMatrix[y].length; x++) {
-                if (boardMatrix[y][x] != 0) {
-                    return false;
-                }
-            }
-        }
-        return true;
+        return board.getFilledCellCount() == 0;
     }
 
     // Gets the current view data for rendering
@@ -273,6 +525,14 @@ public class GameController implements InputEventListener {
 
         gameStarted = true;
         gameEnded = false;
+        if (isCheeseRaceMode) {
+            cheeseLinesLeft = CHEESE_RACE_LINES;
+            lastCheeseHole = -1;
+            updateCheeseRace();
+        }
+        gravityProgress = 0;
+        groundedFrames = 0;
+        settleInstantGravity();
 
         // Record start time for time limit mode
         if (isTimeLimitMode) {
@@ -352,6 +612,43 @@ public class GameController implements InputEventListener {
         return isTimeLimitMode;
     }
 
+    // Set cheese race mode
+    // param enabled: true to enable cheese race mode, false to disable
+    public void setCheeseRaceMode(boolean enabled) {
+        this.isCheeseRaceMode = enabled;
+        this.cheeseLinesLeft = 0;
+        System.out.println("Cheese Race mode set to: " + enabled);
+    }
+
+    // Checks if cheese race mode is enabled
+    // Returns true if cheese race mode is active, false otherwise
+    public boolean isCheeseRaceMode() {
+        return isCheeseRaceMode;
+    }
+
+    // Gets the garbage lines still to clear in cheese race mode, on the board and still to come
+    public int getCheeseLinesRemaining() {
+        return cheeseLinesLeft + board.getGarbageRowCount();
+    }
+
+    // Sets the gravity applied by onGravityFrame
+    // param gravity: rows per frame in 1/GRAVITY_UNIT steps, GRAVITY_20G or more keeps the brick on the surface
+    public void setGravity(int gravity) {
+        this.gravity = Math.max(0, gravity);
+        this.gravityProgress = 0;
+        settleInstantGravity();
+    }
+
+    // Gets the gravity in 1/GRAVITY_UNIT rows per frame
+    public int getGravity() {
+        return gravity;
+    }
+
+    // Checks if 20G is active, where bricks land as soon as they spawn or move
+    public boolean isInstantGravity() {
+        return gravity >= GRAVITY_20G;
+    }
+
     // Checks if the time limit has been reached in time limit mode
     // Returns true if time limit (2 mins) has been reached, false otherwise
     private boolean isTimeLimitReached() {
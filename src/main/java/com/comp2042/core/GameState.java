@@ -0,0 +1,94 @@
+// Snapshot of a game in progress: the board, the falling and held bricks, the brick queue
+// with its random sequence, and the scoring values
+// Buffers are allocated once for a board size, capture and restore only copy into them,
+// so lookahead and rollback can snapshot as often as they like without allocating
+
+package com.comp2042.core;
+
+import com.comp2042.logic.bricks.Brick;
+
+public final class GameState {
+
+    // Queued bricks kept in a snapshot, enough for a deep preview plus bricks returned by undo
+    static final int QUEUE_CAPACITY = 256;
+
+    final int width;
+    final int height;
+
+    // Board cells from topRow down, row by row, and the per-row and per-column counters
+    final int[] cells;
+    final int[] rowFill;
+    final int[] columnTops;
+    final long[] rowHashes;
+    int topRow;
+    int filledCells;
+    int garbageRows;
+    int pendingTop;
+    int pendingBottom;
+    long backgroundHash;
+
+    // Falling brick, hold and the start of the current turn
+    Brick currentBrick;
+    int currentX;
+    int currentY;
+    int rotation;
+    boolean lastActionWasRotation;
+    int lastKick;
+    Brick holdBrick;
+    boolean holdUsedThisTurn;
+    Brick turnSpawnBrick;
+    Brick turnHoldBrick;
+    Brick turnHoldPull;
+    final int[] turnScore = new int[Score.STATE_SIZE];
+
+    // Brick generator
+    final int[] queue = new int[QUEUE_CAPACITY];
+    int queueSize;
+    long randomState;
+
+    // Scoring values
+    final int[] score = new int[Score.STATE_SIZE];
+    boolean hasScore;
+
+    // Constructs a snapshot buffer for boards of the given size
+    // param width: the width of the board in cells
+    // param height: the height of the board in cells
+    public GameState(int width, int height) {
+        this.width = width;
+        this.height = height;
+        cells = new int[width * height];
+        rowFill = new int[height];
+        columnTops = new int[width];
+        rowHashes = new long[height];
+    }
+
+    // Copies the state of a board and its score into this snapshot
+    // param board: the board to capture
+    // param score: the score to capture, or null to leave scoring out
+    public void capture(SimpleBoard board, Score score) {
+        checkSize(board);
+        board.saveState(this);
+        hasScore = score != null;
+        if (hasScore) {
+            score.saveState(this.score, 0);
+        }
+    }
+
+    // Copies this snapshot back into a board and its score
+    // The board's undo history is dropped, since it no longer matches the restored board
+    // param board: the board to restore
+    // param score: the score to restore, ignored if the snapshot has no score
+    public void restore(SimpleBoard board, Score score) {
+        checkSize(board);
+        board.restoreState(this);
+        if (hasScore && score != null) {
+            score.restoreState(this.score, 0);
+        }
+    }
+
+    private void checkSize(SimpleBoard board) {
+        if (board.getWidth() != width || board.getHeight() != height) {
+            throw new IllegalArgumentException("Board size does not match the game state");
+        }
+    }
+}
@@ -0,0 +1,223 @@
+// Finds every resting position the current brick can reach on a board
+// Searches left, right, down and SRS rotate moves breadth first from the spawn state,
+// so tucks and slides under overhangs are found the same way a player would reach them
+// All buffers are allocated once per board size and reused between searches
+
+package com.comp2042.core;
+
+import com.comp2042.logic.bricks.Brick;
+import com.comp2042.logic.bricks.BrickShape;
+import com.comp2042.logic.bricks.BrickShapeRegistry;
+import com.comp2042.logic.bricks.WallKicks;
+import com.comp2042.model.SpinType;
+
+public final class MoveGenerator {
+
+    // Shape matrices are 4x4, so a brick's top-left corner can sit up to 4 cells off the board
+    private static final int SHAPE_SIZE = 4;
+    private static final int MAX_ROTATIONS = 4;
+
+    // Packed layout of a state: column + SHAPE_SIZE, row + SHAPE_SIZE, rotation and SpinType ordinal
+    private static final int X_BITS = 8;
+    private static final int Y_SHIFT = X_BITS;
+    private static final int Y_BITS = 16;
+    private static final int ROTATION_SHIFT = Y_SHIFT + Y_BITS;
+    private static final int SPIN_SHIFT = ROTATION_SHIFT + 2;
+    private static final SpinType[] SPIN_TYPES = SpinType.values();
+    private static final int X_MASK = (1 << X_BITS) - 1;
+    private static final int Y_MASK = (1 << Y_BITS) - 1;
+
+    private final int columns;
+    private final int rows;
+    private final long[] visited;
+    private final long[] rotatedInto;
+    private final long[] lastKickedInto;
+    private final int[] queue;
+    private final int[] placements;
+    private int placementCount;
+
+    // Constructs a move generator for boards of the given size
+    // param width: the width of the board in cells
+    // param height: the height of the board in cells
+    public MoveGenerator(int width, int height) {
+        if (width + SHAPE_SIZE > X_MASK || height + SHAPE_SIZE > Y_MASK) {
+            throw new IllegalArgumentException("Board is too large for the move generator");
+        }
+        columns = width + SHAPE_SIZE;
+        rows = height + SHAPE_SIZE;
+        int states = MAX_ROTATIONS * rows * columns;
+        visited = new long[(states + Long.SIZE - 1) / Long.SIZE];
+        rotatedInto = new long[visited.length];
+        lastKickedInto = new long[visited.length];
+        queue = new int[states];
+        placements = new int[states];
+    }
+
+    // Lists every reachable resting position of the board's current brick
+    // A resting position is a state the brick cannot move down from
+    // param board: the board to search, it is not modified
+    // Returns the number of placements found
+    public int generate(SimpleBoard board) {
+        placementCount = 0;
+        Brick brick = board.getCurrentBrick();
+        if (brick == null) return 0;
+        if (board.getWidth() + SHAPE_SIZE != columns || board.getHeight() + SHAPE_SIZE != rows) {
+            throw new IllegalArgumentException("Board size does not match the move generator");
+        }
+
+        int rotationCount = brick.getRotationCount();
+        int pieceId = brick.getPieceId();
+        int startX = board.getCurrentX();
+        int startY = board.getCurrentY();
+        int startRotation = board.getCurrentRotation();
+        if (board.collides(BrickShapeRegistry.getShape(pieceId, startRotation), startX, startY)) return 0;
+
+        int head = 0;
+        int tail = 0;
+        int start = index(startX, startY, startRotation);
+        mark(visited, start);
+        queue[tail++] = start;
+
+        while (head < tail) {
+            int state = queue[head++];
+            int rotation = state / (rows * columns);
+            int y = (state / columns) % rows - SHAPE_SIZE;
+            int x = state % columns - SHAPE_SIZE;
+            BrickShape shape = BrickShapeRegistry.getShape(pieceId, rotation);
+
+            if (board.collides(shape, x, y + 1)) {
+                placements[placementCount++] = state;
+            } else {
+                tail = visit(board, shape, x, y + 1, rotation, -1, tail);
+            }
+            tail = visit(board, shape, x - 1, y, rotation, -1, tail);
+            tail = visit(board, shape, x + 1, y, rotation, -1, tail);
+
+            // Counterclockwise, clockwise and 180 degree turns, each with its SRS kicks
+            if (rotationCount > 1) {
+                tail = rotate(board, pieceId, x, y, rotation, (rotation + 1) % rotationCount, tail);
+                tail = rotate(board, pieceId, x, y, rotation, (rotation + rotationCount - 1) % rotationCount, tail);
+                if (rotationCount > 2) {
+                    tail = rotate(board, pieceId, x, y, rotation, (rotation + 2) % rotationCount, tail);
+                }
+            }
+        }
+
+        // Spins are decided once every rotation into a resting state has been seen,
+        // with the same SpinDetector rules the board scores a lock with
+        for (int i = 0; i < placementCount; i++) {
+            int state = placements[i];
+            int rotation = state / (rows * columns);
+            int y = (state / columns) % rows - SHAPE_SIZE;
+            int x = state % columns - SHAPE_SIZE;
+            int kick = isMarked(lastKickedInto, state) ? SpinDetector.LAST_KICK : 0;
+            SpinType spin = SpinDetector.detect(board, BrickShapeRegistry.getShape(pieceId, rotation), x, y,
+                    isMarked(rotatedInto, state), kick, board.isAllSpinEnabled());
+            placements[i] = pack(x, y, rotation, spin);
+        }
+
+        // Only the states that were reached need to be cleared for the next search
+        for (int i = 0; i < tail; i++) {
+            unmark(visited, queue[i]);
+            unmark(rotatedInto, queue[i]);
+            unmark(lastKickedInto, queue[i]);
+        }
+        return placementCount;
+    }
+
+    // Applies a rotation the way the board does: the first kicked position that fits wins
+    private int rotate(SimpleBoard board, int pieceId, int x, int y, int from, int to, int tail) {
+        BrickShape shape = BrickShapeRegistry.getShape(pieceId, to);
+        int kicks = WallKicks.getKickCount(pieceId, from, to);
+        for (int kick = 0; kick < kicks; kick++) {
+            int kickedX = x + WallKicks.getKickX(pieceId, from, to, kick);
+            int kickedY = y + WallKicks.getKickY(pieceId, from, to, kick);
+            if (!board.collides(shape, kickedX, kickedY)) {
+                return visit(board, shape, kickedX, kickedY, to, kick, tail);
+            }
+        }
+        return tail;
+    }
+
+    // Queues a neighbouring state if it fits and has not been seen yet
+    // Rotations into a state that was already seen are still recorded for the spin check
+    // param kick: the wall kick index of a rotation, -1 for a move
+    private int visit(SimpleBoard board, BrickShape shape, int x, int y, int rotation, int kick, int tail) {
+        if (x < -SHAPE_SIZE || x >= columns - SHAPE_SIZE || y < -SHAPE_SIZE || y >= rows - SHAPE_SIZE) {
+            return tail;
+        }
+        int state = index(x, y, rotation);
+        boolean seen = isMarked(visited, state);
+        if (!seen && board.collides(shape, x, y)) return tail;
+
+        if (kick >= 0) mark(rotatedInto, state);
+        if (kick == SpinDetector.LAST_KICK) mark(lastKickedInto, state);
+        if (seen) return tail;
+        mark(visited, state);
+        queue[tail] = state;
+        return tail + 1;
+    }
+
+    // Gets the number of placements found by the last search
+    public int getPlacementCount() {
+        return placementCount;
+    }
+
+    // Gets the column of a placement's top-left corner
+    // param i: index between 0 and getPlacementCount() - 1
+    public int getX(int i) {
+        return (placements[i] & X_MASK) - SHAPE_SIZE;
+    }
+
+    // Gets the row of a placement's top-left corner
+    // param i: index between 0 and getPlacementCount() - 1
+    public int getY(int i) {
+        return ((placements[i] >>> Y_SHIFT) & Y_MASK) - SHAPE_SIZE;
+    }
+
+    // Gets the rotation index of a placement
+    // param i: index between 0 and getPlacementCount() - 1
+    public int getRotation(int i) {
+        return (placements[i] >>> ROTATION_SHIFT) & (MAX_ROTATIONS - 1);
+    }
+
+    // Gets the spin a placement is scored as when it is reached with a rotation, as SpinDetector decides it
+    // Placements reached both ways report the best spin, a player can always choose the rotation
+    // param i: index between 0 and getPlacementCount() - 1
+    public SpinType getSpin(int i) {
+        return SPIN_TYPES[placements[i] >>> SPIN_SHIFT];
+    }
+
+    // Checks if a placement counts as a spin of any kind
+    // param i: index between 0 and getPlacementCount() - 1
+    public boolean isSpin(int i) {
+        return getSpin(i) != SpinType.NONE;
+    }
+
+    // Gets a placement packed into a single int, stable for use as a map key
+    // param i: index between 0 and getPlacementCount() - 1
+    public int getPacked(int i) {
+        return placements[i];
+    }
+
+    private int index(int x, int y, int rotation) {
+        return (rotation * rows + y + SHAPE_SIZE) * columns + x + SHAPE_SIZE;
+    }
+
+    private static int pack(int x, int y, int rotation, SpinType spin) {
+        return (x + SHAPE_SIZE) | ((y + SHAPE_SIZE) << Y_SHIFT) | (rotation << ROTATION_SHIFT)
+                | (spin.ordinal() << SPIN_SHIFT);
+    }
+
+    private static boolean isMarked(long[] bits, int i) {
+        return (bits[i >>> 6] & (1L << i)) != 0;
+    }
+
+    private static void mark(long[] bits, int i) {
+        bits[i >>> 6] |= 1L << i;
+    }
+
+    private static void unmark(long[] bits, int i) {
+        bits[i >>> 6] &= ~(1L << i);
+    }
+}
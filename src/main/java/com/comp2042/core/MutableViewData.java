@@ -0,0 +1,85 @@
+// The ViewData a board hands out, refreshed in place so moves allocate nothing
+// Only boards in this package can change it, everyone else sees the read-only ViewData
+
+package com.comp2042.core;
+
+import com.comp2042.logic.bricks.BrickGenerator;
+import com.comp2042.logic.bricks.BrickShape;
+import com.comp2042.model.ViewData;
+
+final class MutableViewData implements ViewData {
+
+    private BrickShape brickShape;
+    private int xPosition;
+    private int yPosition;
+    private int ghostYPosition;
+    private BrickShape nextBrickShape;
+    private BrickShape holdBrickShape;
+    private final BrickShape[] nextShapes = new BrickShape[BrickGenerator.MAX_QUEUE_DEPTH];
+    private int nextCount;
+
+    // Refreshes this instance in place so a board can hand out the same object on every move
+    // Returns this instance
+    MutableViewData update(BrickShape brickShape, int xPosition, int yPosition, int ghostYPosition,
+                           BrickShape nextBrickShape, BrickShape holdBrickShape) {
+        this.brickShape = brickShape;
+        this.xPosition = xPosition;
+        this.yPosition = yPosition;
+        this.ghostYPosition = ghostYPosition;
+        this.nextBrickShape = nextBrickShape;
+        this.holdBrickShape = holdBrickShape;
+        return this;
+    }
+
+    // Sets one entry of the upcoming brick preview, index 0 is the next brick
+    // param index: the position in the queue, below BrickGenerator.MAX_QUEUE_DEPTH
+    // param shape: the spawn shape of the brick at that position
+    void setNextShape(int index, BrickShape shape) {
+        nextShapes[index] = shape;
+    }
+
+    // Sets how many upcoming bricks the preview holds
+    void setNextCount(int nextCount) {
+        this.nextCount = nextCount;
+    }
+
+    @Override
+    public int getNextCount() {
+        return nextCount;
+    }
+
+    @Override
+    public BrickShape getNextShape(int index) {
+        return nextShapes[index];
+    }
+
+    @Override
+    public BrickShape getBrickShape() {
+        return brickShape;
+    }
+
+    @Override
+    public BrickShape getNextBrickShape() {
+        return nextBrickShape;
+    }
+
+    @Override
+    public BrickShape getHoldBrickShape() {
+        return holdBrickShape;
+    }
+
+    @Override
+    public int getxPosition() {
+        return xPosition;
+    }
+
+    @Override
+    public int getyPosition() {
+        return yPosition;
+    }
+
+    @Override
+    public int getGhostYPosition() {
+        return ghostYPosition;
+    }
+}
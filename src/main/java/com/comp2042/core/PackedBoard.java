@@ -0,0 +1,125 @@
+// Compact, immutable copy of a board's cells for keeping large numbers of positions in memory
+// Each cell colour takes 4 bits, so a 10 wide row is one long, and only the rows from the top
+// of the stack down are stored: a 10x20 board is at most 20 longs instead of 20 int arrays
+// Equal boards give equal packed boards, so they can be used as keys for replays and datasets
+
+package com.comp2042.core;
+
+import com.comp2042.logic.MatrixOperations;
+
+import java.util.Arrays;
+
+public final class PackedBoard {
+
+    private final int width;
+    private final int height;
+    private final int topRow;
+    private final int rowWords;
+    private final long[] words;
+
+    // Wraps rows already packed with MatrixOperations.packRow, from topRow to the bottom
+    PackedBoard(int width, int height, int topRow, long[] words) {
+        this.width = width;
+        this.height = height;
+        this.topRow = topRow;
+        this.rowWords = MatrixOperations.packedRowWords(width);
+        this.words = words;
+    }
+
+    // Packs a board matrix
+    // param matrix: the cells, row by row from the top, with colours between 0 and MatrixOperations.MAX_PACKED_COLOR
+    // Returns the packed board
+    public static PackedBoard of(int[][] matrix) {
+        int height = matrix.length;
+        int width = matrix[0].length;
+        int top = 0;
+        while (top < height && isEmpty(matrix[top])) {
+            top++;
+        }
+        int rowWords = MatrixOperations.packedRowWords(width);
+        long[] words = new long[(height - top) * rowWords];
+        for (int row = top; row < height; row++) {
+            MatrixOperations.packRow(matrix[row], words, (row - top) * rowWords);
+        }
+        return new PackedBoard(width, height, top, words);
+    }
+
+    // Gets the number of columns
+    public int getWidth() {
+        return width;
+    }
+
+    // Gets the number of rows
+    public int getHeight() {
+        return height;
+    }
+
+    // Gets the index of the highest stored row, every row above it is empty
+    public int getTopRow() {
+        return topRow;
+    }
+
+    // Gets the number of longs holding the cells
+    public int getWordCount() {
+        return words.length;
+    }
+
+    // Gets the colour of one cell
+    // param row: the row index, 0 at the top
+    // param column: the column index
+    public int getCell(int row, int column) {
+        if (row < 0 || row >= height || column < 0 || column >= width) {
+            throw new IndexOutOfBoundsException("Cell " + column + "," + row + " is outside the board");
+        }
+        if (row < topRow) return 0;
+        long bits = words[(row - topRow) * rowWords + column / MatrixOperations.CELLS_PER_WORD];
+        return (int) (bits >>> ((column % MatrixOperations.CELLS_PER_WORD) * MatrixOperations.CELL_BITS))
+                & MatrixOperations.MAX_PACKED_COLOR;
+    }
+
+    // Unpacks one row into a caller owned buffer
+    // param row: the row index, 0 at the top
+    // param into: the buffer to fill, width cells long
+    public void unpackRow(int row, int[] into) {
+        if (row < topRow) {
+            Arrays.fill(into, 0, width, 0);
+        } else {
+            MatrixOperations.unpackRow(words, (row - topRow) * rowWords, into);
+        }
+    }
+
+    // Unpacks the whole board into a caller owned matrix of the same size
+    // param into: the matrix to fill
+    public void unpackInto(int[][] into) {
+        for (int row = 0; row < height; row++) {
+            unpackRow(row, into[row]);
+        }
+    }
+
+    // Unpacks the whole board into a new matrix
+    public int[][] toMatrix() {
+        int[][] matrix = new int[height][width];
+        unpackInto(matrix);
+        return matrix;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) return true;
+        if (!(other instanceof PackedBoard packed)) return false;
+        return width == packed.width && height == packed.height && topRow == packed.topRow
+                && Arrays.equals(words, packed.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * width + height) + Arrays.hashCode(words);
+    }
+
+    private static boolean isEmpty(int[] row) {
+        for (int cell : row) {
+            if (cell != 0) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,73 @@
+// Compact encoding of the outcome of a direct brick placement
+// A result packs the piece id, lines cleared, drop distance and flags into one int so batches stay
+// allocation free
+
+package com.comp2042.core;
+
+public final class Placement {
+
+    // Returned when the brick does not fit at the requested rotation and column
+    public static final int INVALID = -1;
+
+    private static final int LINES_MASK = 0xFF;
+    private static final int DROP_SHIFT = 8;
+    private static final int DROP_MASK = 0xFFFF;
+    private static final int PERFECT_CLEAR_FLAG = 1 << 24;
+    private static final int TOP_OUT_FLAG = 1 << 25;
+    private static final int PIECE_SHIFT = 26;
+    private static final int PIECE_MASK = 0x1F;
+
+    //We don't want to instantiate this utility class
+    private Placement() {
+
+    }
+
+    // Packs the outcome of one placement
+    // param pieceId: the BrickShapeRegistry id of the placed brick
+    // param linesCleared: number of rows removed by the lock
+    // param dropDistance: number of rows the brick fell
+    // param perfectClear: true if the board is empty after the clear
+    // param topOut: true if the next brick collided at spawn
+    public static int encode(int pieceId, int linesCleared, int dropDistance, boolean perfectClear, boolean topOut) {
+        int result = Math.min(linesCleared, LINES_MASK) | (Math.min(dropDistance, DROP_MASK) << DROP_SHIFT)
+                | (pieceId & PIECE_MASK) << PIECE_SHIFT;
+        if (perfectClear) result |= PERFECT_CLEAR_FLAG;
+        if (topOut) result |= TOP_OUT_FLAG;
+        return result;
+    }
+
+    // Marks a valid result as having topped out, for callers that spawn the next brick themselves
+    public static int withTopOut(int result) {
+        return result | TOP_OUT_FLAG;
+    }
+
+    // Checks if the placement was applied
+    public static boolean isValid(int result) {
+        return result >= 0;
+    }
+
+    // Gets the BrickShapeRegistry id of the placed brick
+    public static int getPieceId(int result) {
+        return (result >>> PIECE_SHIFT) & PIECE_MASK;
+    }
+
+    // Gets the number of rows removed by the placement
+    public static int getLinesCleared(int result) {
+        return result & LINES_MASK;
+    }
+
+    // Gets the number of rows the brick fell
+    public static int getDropDistance(int result) {
+        return (result >>> DROP_SHIFT) & DROP_MASK;
+    }
+
+    // Checks if the placement left the board empty
+    public static boolean isPerfectClear(int result) {
+        return (result & PERFECT_CLEAR_FLAG) != 0;
+    }
+
+    // Checks if the next brick could not spawn after the placement
+    public static boolean isTopOut(int result) {
+        return (result & TOP_OUT_FLAG) != 0;
+    }
+}
@@ -0,0 +1,45 @@
+// BatchKernel that visits one lane at a time, used when the Vector API is not available
+
+package com.comp2042.core;
+
+final class ScalarBatchKernel implements BatchKernel {
+
+    @Override
+    public void collide(int[] coveredRows, int[] masks, int lanes, int[] hits) {
+        collide(coveredRows, masks, lanes, 0, hits);
+    }
+
+    @Override
+    public void merge(int[] coveredRows, int[] masks, int lanes, int fullMask, int[] fullRows) {
+        merge(coveredRows, masks, lanes, 0, fullMask, fullRows);
+    }
+
+    // Checks the lanes from a given lane to the end, also used for the tail of the vector kernel
+    static void collide(int[] coveredRows, int[] masks, int lanes, int from, int[] hits) {
+        for (int lane = from; lane < lanes; lane++) {
+            int hit = 0;
+            for (int k = 0; k < BRICK_ROWS; k++) {
+                int i = k * lanes + lane;
+                hit |= coveredRows[i] & masks[i];
+            }
+            hits[lane] = hit != 0 ? 1 : 0;
+        }
+    }
+
+    // Merges the lanes from a given lane to the end, also used for the tail of the vector kernel
+    static void merge(int[] coveredRows, int[] masks, int lanes, int from, int fullMask, int[] fullRows) {
+        for (int lane = from; lane < lanes; lane++) {
+            int full = 0;
+            for (int k = 0; k < BRICK_ROWS; k++) {
+                int i = k * lanes + lane;
+                if (masks[i] == 0) continue;
+                int merged = coveredRows[i] | masks[i];
+                coveredRows[i] = merged;
+                if (merged == fullMask) {
+                    full |= 1 << k;
+                }
+            }
+            fullRows[lane] = full;
+        }
+    }
+}
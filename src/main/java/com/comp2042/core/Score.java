@@ -3,17 +3,28 @@
 
 package com.comp2042.core;
 
+import com.comp2042.logic.bricks.BrickShapeRegistry;
+import com.comp2042.model.SpinType;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 
 public final class Score {
 
+    // Number of ints written by saveState
+    public static final int STATE_SIZE = 6;
+
+    // Spin points per level, indexed by lines cleared
+    private static final int[] T_SPIN_POINTS = {400, 800, 1200, 1600};
+    private static final int[] T_SPIN_MINI_POINTS = {100, 200, 400};
+
     private final IntegerProperty score = new SimpleIntegerProperty(0);
     private int level = 1;
     private int totalLinesCleared = 0;
     private int comboCount = 0;
     private boolean lastWasTetris = false;
     private int consecutiveTetrisCount = 0;
+    // Printing every clear is fine for one game but not for simulations scoring thousands of games
+    private boolean logging = true;
 
     // Gets the score property for JavaFX binding
     // Returns the score property
@@ -24,7 +35,7 @@ public final class Score {
     // Adds points to the current score
     // param i: the number of points to add
     public void add(int i) {
-        score.setValue(score.getValue() + i);
+        score.set(score.get() + i);
     }
 
     // Resets all scoring values to their initial state
@@ -37,6 +48,36 @@ public final class Score {
         consecutiveTetrisCount = 0;
     }
 
+    // Copies every scoring value into a caller owned buffer
+    // param into: the buffer to write to
+    // param offset: the index of the first value, STATE_SIZE values are written
+    public void saveState(int[] into, int offset) {
+        into[offset] = score.get();
+        into[offset + 1] = level;
+        into[offset + 2] = totalLinesCleared;
+        into[offset + 3] = comboCount;
+        into[offset + 4] = lastWasTetris ? 1 : 0;
+        into[offset + 5] = consecutiveTetrisCount;
+    }
+
+    // Restores scoring values written by saveState
+    // param from: the buffer to read from
+    // param offset: the index of the first value
+    public void restoreState(int[] from, int offset) {
+        score.set(from[offset]);
+        level = from[offset + 1];
+        totalLinesCleared = from[offset + 2];
+        comboCount = from[offset + 3];
+        lastWasTetris = from[offset + 4] != 0;
+        consecutiveTetrisCount = from[offset + 5];
+    }
+
+    // Turns the console messages for clears, combos and drops on or off
+    // param logging: false to score silently
+    void setLogging(boolean logging) {
+        this.logging = logging;
+    }
+
     // Gets the current game level
     // Returns the current level
     public int getLevel() {
@@ -102,7 +143,7 @@ public final class Score {
             addComboPoints();
         }
 
-        System.out.println("Cleared" + linesCleared + " lines! +" + points + " points! Level: " + level);
+        if (logging) System.out.println("Cleared" + linesCleared + " lines! +" + points + " points! Level: " + level);
 
         // Reset back-to-back tracking for non-Tetris line clears
         if (linesCleared != 4) {
@@ -121,7 +162,7 @@ public final class Score {
         if (lastWasTetris) {
             consecutiveTetrisCount++;
             basePoints = 1200 * level; // Enhanced Tetris points for back-to-back
-            System.out.println("Back-to-Back Tetris! Consecutive: " + consecutiveTetrisCount);
+            if (logging) System.out.println("Back-to-Back Tetris! Consecutive: " + consecutiveTetrisCount);
         } else {
             consecutiveTetrisCount = 1;
         }
@@ -133,7 +174,54 @@ public final class Score {
         // Combo system
         addComboPoints();
 
-        System.out.println("Tetris! +" + basePoints + " points! Level: " + level);
+        if (logging) System.out.println("Tetris! +" + basePoints + " points! Level: " + level);
+
+        lastWasTetris = true;
+    }
+
+    // Adds score for a T-spin, with or without cleared lines
+    // Spins that clear lines keep and extend the back-to-back chain like a Tetris
+    // param linesCleared: number of lines cleared by the spin (0-3)
+    // param mini: true for a T-spin mini
+    public void addTSpinScore(int linesCleared, boolean mini) {
+        int[] table = mini ? T_SPIN_MINI_POINTS : T_SPIN_POINTS;
+        addSpinPoints(table[Math.min(linesCleared, table.length - 1)], linesCleared, mini ? "T-Spin Mini" : "T-Spin");
+    }
+
+    // Adds score for a spin of a brick other than T, scored like a T-spin mini
+    // param linesCleared: number of lines cleared by the spin
+    public void addAllSpinScore(int linesCleared) {
+        addSpinPoints(T_SPIN_MINI_POINTS[Math.min(linesCleared, T_SPIN_MINI_POINTS.length - 1)],
+                linesCleared, "Spin");
+    }
+
+    // Scores a spin and updates lines, level, combo and back-to-back
+    private void addSpinPoints(int basePoints, int linesCleared, String name) {
+        int points = basePoints * level;
+        if (linesCleared == 0) {
+            add(points);
+            resetCombo();
+            if (logging) System.out.println(name + "! +" + points + " points!");
+            return;
+        }
+
+        // Back-to-back bonus
+        if (lastWasTetris) {
+            consecutiveTetrisCount++;
+            points = points * 3 / 2;
+            if (logging) System.out.println("Back-to-Back " + name + "! Consecutive: " + consecutiveTetrisCount);
+        } else {
+            consecutiveTetrisCount = 1;
+        }
+
+        add(points);
+        totalLinesCleared += linesCleared;
+        level = (totalLinesCleared / 10) + 1;
+
+        // Combo system
+        addComboPoints();
+
+        if (logging) System.out.println(name + " " + linesCleared + " lines! +" + points + " points! Level: " + level);
 
         lastWasTetris = true;
     }
@@ -144,7 +232,7 @@ public final class Score {
         if (comboCount > 0) {
             int comboPoints = 50 * level * comboCount;
             add(comboPoints);
-            System.out.println("Combo x" + comboCount + "! +" + comboPoints + " points!");
+            if (logging) System.out.println("Combo x" + comboCount + "! +" + comboPoints + " points!");
         }
         comboCount++;
     }
@@ -152,7 +240,7 @@ public final class Score {
     // Resets the combo counter
     public void resetCombo() {
         if (comboCount > 1) {
-            System.out.println("Combo broken! Reached x" + (comboCount - 1) + " combo");
+            if (logging) System.out.println("Combo broken! Reached x" + (comboCount - 1) + " combo");
         }
         comboCount = 0;
     }
@@ -162,7 +250,7 @@ public final class Score {
     public void addPerfectClear() {
         int perfectClearBonus = 2000 * level;
         add(perfectClearBonus);
-        System.out.println("Perfect Clear! +" + perfectClearBonus + " points!");
+        if (logging) System.out.println("Perfect Clear! +" + perfectClearBonus + " points!");
 
         // Combo system applies to perfect clear as well
         if (comboCount > 0) {
@@ -176,7 +264,7 @@ public final class Score {
         if (dropDistance > 0) {
             int points = dropDistance * 2;
             add(points);
-            System.out.println("Hard drop: + " + points + " points (" + dropDistance + " rows)");
+            if (logging) System.out.println("Hard drop: + " + points + " points (" + dropDistance + " rows)");
         }
     }
 
@@ -193,4 +281,35 @@ public final class Score {
     public void piecePlacedWithoutClear() {
         resetCombo();
     }
+
+    // Scores one locked brick: the hard drop, then the spin or line clear, then a perfect clear
+    // The one set of lock rules, shared by GameController, BatchEngine and the differential fuzzer
+    // param dropDistance: rows fallen by a hard drop, 0 for a normal lock
+    // param linesCleared: number of lines removed by the lock
+    // param perfectClear: true if the board is empty after the clear
+    // param spin: the spin the brick was locked with, spins replace the normal line clear scoring
+    // param pieceId: the registry id of the locked brick, T scores T-spins and every other brick all-spins
+    public void scoreLock(int dropDistance, int linesCleared, boolean perfectClear, SpinType spin, int pieceId) {
+        if (dropDistance > 0) {
+            addHardDropScore(dropDistance);
+        }
+
+        if (spin != SpinType.NONE) {
+            if (pieceId == BrickShapeRegistry.T) {
+                addTSpinScore(linesCleared, spin == SpinType.MINI);
+            } else {
+                addAllSpinScore(linesCleared);
+            }
+        } else if (linesCleared == 4) {
+            addTetrisScore();
+        } else if (linesCleared > 0) {
+            addLineClearScore(linesCleared);
+        } else {
+            piecePlacedWithoutClear();
+        }
+
+        if (perfectClear) {
+            addPerfectClear();
+        }
+    }
 }
@@ -5,36 +5,113 @@ package com.comp2042.core;
 
 import com.comp2042.logic.bricks.Brick;
 import com.comp2042.logic.bricks.BrickGenerator;
+import com.comp2042.logic.bricks.BrickShape;
+import com.comp2042.logic.bricks.BrickShapeRegistry;
 import com.comp2042.logic.bricks.RandomBrickGenerator;
+import com.comp2042.logic.bricks.WallKicks;
 import com.comp2042.logic.MatrixOperations;
 import com.comp2042.model.BrickRotator;
 import com.comp2042.model.ClearRow;
-import com.comp2042.model.NextShapeInfo;
+import com.comp2042.model.SpinType;
 import com.comp2042.model.ViewData;
 
-import java.awt.*;
+import java.util.Arrays;
 
 public class SimpleBoard implements Board {
 
+    // Shape matrices are 4x4 and no brick has more than four rotations
+    private static final int SHAPE_SIZE = 4;
+    private static final int MAX_ROTATIONS = 4;
+
+    // On tall boards bricks spawn this many rows above the stack instead of at the very top
+    static final int SPAWN_ROWS_ABOVE_STACK = 20;
+
+    // Number of locked bricks that can be undone
+    private static final int UNDO_DEPTH = 64;
+
+    // Colour code of garbage cells
+    public static final int GARBAGE_COLOR = 8;
+
     private final int width;
     private final int height;
     private final BrickGenerator brickGenerator;
     private final BrickRotator brickRotator;
-    private int[][] currentGameMatrix;
-    private Point currentOffset;
+    private final int[][] currentGameMatrix;
+    private final int[] rowFill;
+    private final int[] columnTops;
+    private final long[] columnKeys;
+    private final long[] rowKeys;
+    private final long[] rowHashes;
+    private long backgroundHash;
+    private long pieceHash;
+    private final ClearRow noRowsCleared;
+    private int topRow;
+    private int filledCells;
+    // Garbage rows always sit together at the bottom, so a count is enough to know which rows they are
+    private int garbageRows;
+    private int[][] spareRows;
+    private final int[] landingRows;
+    private final int[] landingStamps;
+    private int boardVersion = 1;
+    private int pendingTop;
+    private int pendingBottom;
+    private final MutableViewData viewData = new MutableViewData();
+    private int currentX;
+    private int currentY;
     private Brick holdBrick = null;
     private boolean holdUsedThisTurn = false;
     private Brick currentBrick;
+    private boolean lastActionWasRotation;
+    private int lastKick;
+    private SpinType lastSpin = SpinType.NONE;
+    private int lastLockedPieceId = -1;
+    private boolean allSpinEnabled;
+    // Printing every reset is fine for one game but not for simulations restarting thousands of boards
+    private boolean logging = true;
+    private Score score;
+    private final UndoJournal undoJournal;
+    private final int[][] undoRows = new int[UndoJournal.MAX_ROWS][];
+    private int lockSlot = -1;
+    private Brick turnSpawnBrick;
+    private Brick turnHoldBrick;
+    private Brick turnHoldPull;
+    private final int[] turnScore = new int[Score.STATE_SIZE];
+    private final BoardFeatures features;
 
     // Constructs a SimpleBoard with specified dimensions
     // param width: the width of the game board in cells
     // param height: the height of the game board in cells
     public SimpleBoard(int width, int height) {
+        this(width, height, new RandomBrickGenerator());
+    }
+
+    // Constructs a SimpleBoard that takes its bricks from the given generator
+    // Pass a SeededBrickGenerator to make the game reproducible
+    // param width: the width of the game board in cells
+    // param height: the height of the game board in cells
+    // param brickGenerator: the source of new bricks
+    public SimpleBoard(int width, int height, BrickGenerator brickGenerator) {
         this.width = width;
         this.height = height;
         currentGameMatrix = new int[height][width];
-        brickGenerator = new RandomBrickGenerator();
+        rowFill = new int[height];
+        columnTops = new int[width];
+        columnKeys = new long[width];
+        rowKeys = new long[height];
+        rowHashes = new long[height];
+        for (int column = 0; column < width; column++) {
+            columnKeys[column] = ZobristKeys.column(column);
+        }
+        for (int row = 0; row < height; row++) {
+            rowKeys[row] = ZobristKeys.row(row);
+        }
+        landingRows = new int[BrickShapeRegistry.getPieceCount() * MAX_ROTATIONS * (width + SHAPE_SIZE)];
+        landingStamps = new int[landingRows.length];
+        noRowsCleared = new ClearRow(0, currentGameMatrix, 0);
+        this.brickGenerator = brickGenerator;
         brickRotator = new BrickRotator();
+        undoJournal = new UndoJournal(UNDO_DEPTH, width);
+        features = new BoardFeatures(width, height);
 
         // Initialize with empty board
         for (int i = 0; i < height; i++) {
@@ -42,6 +119,10 @@ public class SimpleBoard implements Board {
                 currentGameMatrix[i][j] = 0;
             }
         }
+        Arrays.fill(columnTops, height);
+        topRow = height;
+        pendingTop = height;
+        pendingBottom = -1;
     }
 
     // Moves the current brick down by one unit
@@ -50,18 +131,19 @@ public class SimpleBoard implements Board {
     public boolean moveBrickDown() {
         if (currentBrick == null) return false;
 
-        Point newOffset = new Point(currentOffset);
-        newOffset.translate(0, 1);
+        int newX = currentX;
+        int newY = currentY + 1;
 
-        boolean conflict = MatrixOperations.intersect(
-                currentGameMatrix,
-                brickRotator.getCurrentShape(),
-                (int) newOffset.getX(),
-                (int) newOffset.getY()
+        boolean conflict = collides(
+                brickRotator.getCurrentBrickShape(),
+                newX,
+                newY
         );
 
         if (!conflict) {
-            currentOffset = newOffset;
+            currentX = newX;
+            currentY = newY;
+            lastActionWasRotation = false;
             return true;
         }
         return false;
@@ -73,18 +155,19 @@ public class SimpleBoard implements Board {
     public boolean moveBrickLeft() {
         if (currentBrick == null) return false;
 
-        Point newOffset = new Point(currentOffset);
-        newOffset.translate(-1, 0);
+        int newX = currentX - 1;
+        int newY = currentY;
 
-        boolean conflict = MatrixOperations.intersect(
-                currentGameMatrix,
-                brickRotator.getCurrentShape(),
-                (int) newOffset.getX(),
-                (int) newOffset.getY()
+        boolean conflict = collides(
+                brickRotator.getCurrentBrickShape(),
+                newX,
+                newY
         );
 
         if (!conflict) {
-            currentOffset = newOffset;
+            currentX = newX;
+            currentY = newY;
+            lastActionWasRotation = false;
             return true;
         }
         return false;
@@ -96,18 +179,19 @@ public class SimpleBoard implements Board {
     public boolean moveBrickRight() {
         if (currentBrick == null) return false;
 
-        Point newOffset = new Point(currentOffset);
-        newOffset.translate(1, 0);
+        int newX = currentX + 1;
+        int newY = currentY;
 
-        boolean conflict = MatrixOperations.intersect(
-                currentGameMatrix,
-                brickRotator.getCurrentShape(),
-                (int) newOffset.getX(),
-                (int) newOffset.getY()
+        boolean conflict = collides(
+                brickRotator.getCurrentBrickShape(),
+                newX,
+                newY
         );
 
         if (!conflict) {
-            currentOffset = newOffset;
+            currentX = newX;
+            currentY = newY;
+            lastActionWasRotation = false;
             return true;
         }
         return false;
@@ -119,17 +203,48 @@ public class SimpleBoard implements Board {
     public boolean rotateLeftBrick() {
         if (currentBrick == null) return false;
 
-        NextShapeInfo nextShape = brickRotator.getNextShape();
-        boolean conflict = MatrixOperations.intersect(
-                currentGameMatrix,
-                nextShape.getShape(),
-                (int) currentOffset.getX(),
-                (int) currentOffset.getY()
-        );
+        return rotateBrick(brickRotator.getNextRotation());
+    }
 
-        if (!conflict) {
-            brickRotator.setCurrentShape(nextShape.getPosition());
-            return true;
+    // Rotates the current brick clockwise
+    // Returns true if rotation was successful, false if blocked
+    @Override
+    public boolean rotateRightBrick() {
+        if (currentBrick == null) return false;
+
+        int rotations = brickRotator.getRotationCount();
+        return rotateBrick((brickRotator.getCurrentRotation() + rotations - 1) % rotations);
+    }
+
+    // Rotates the current brick by 180 degrees
+    // Returns true if rotation was successful, false if blocked
+    @Override
+    public boolean rotate180Brick() {
+        if (currentBrick == null) return false;
+
+        int rotations = brickRotator.getRotationCount();
+        return rotateBrick((brickRotator.getCurrentRotation() + 2) % rotations);
+    }
+
+    // Rotates the current brick to a rotation, trying each SRS wall kick in order
+    // param rotation: the target rotation index
+    // Returns true if one of the kicked positions fits
+    private boolean rotateBrick(int rotation) {
+        int pieceId = currentBrick.getPieceId();
+        int from = brickRotator.getCurrentRotation();
+        BrickShape shape = brickRotator.getBrickShape(rotation);
+        int kicks = WallKicks.getKickCount(pieceId, from, rotation);
+        for (int kick = 0; kick < kicks; kick++) {
+            int x = currentX + WallKicks.getKickX(pieceId, from, rotation, kick);
+            int y = currentY + WallKicks.getKickY(pieceId, from, rotation, kick);
+            if (!collides(shape, x, y)) {
+                brickRotator.setCurrentShape(rotation);
+                currentX = x;
+                currentY = y;
+                lastActionWasRotation = true;
+                lastKick = kick;
+                return true;
+            }
         }
         return false;
     }
@@ -141,22 +256,39 @@ public class SimpleBoard implements Board {
         // Reset hold flag for new piece
         holdUsedThisTurn = false;
 
-        currentBrick = brickGenerator.getBrick();
+        // Remember how the turn started so a later undo can return to it
+        Brick brick = brickGenerator.getBrick();
+        lockSlot = -1;
+        turnSpawnBrick = brick;
+        turnHoldBrick = holdBrick;
+        turnHoldPull = null;
+        if (score != null) {
+            score.saveState(turnScore, 0);
+        }
+
+        return spawnBrick(brick); // true = game over
+    }
+
+    // Makes a brick the current brick at the spawn position
+    // Returns true if the brick collides at spawn
+    private boolean spawnBrick(Brick brick) {
+        currentBrick = brick;
+        lastActionWasRotation = false;
         brickRotator.setBrick(currentBrick);
+        updatePieceHash();
 
         // Start at top center - adjust based on brick width
-        int brickWidth = brickRotator.getCurrentShape()[0].length;
-        currentOffset = new Point(width / 2 - brickWidth / 2, 0);
+        // Tall boards spawn a fixed distance above the stack so bricks do not fall thousands of rows
+        int brickWidth = brickRotator.getCurrentBrickShape().getColumnCount();
+        currentX = width / 2 - brickWidth / 2;
+        currentY = Math.max(0, topRow - SPAWN_ROWS_ABOVE_STACK);
 
         // Check if game over (collision at spawn)
-        boolean collision = MatrixOperations.intersect(
-                currentGameMatrix,
-                brickRotator.getCurrentShape(),
-                (int) currentOffset.getX(),
-                (int) currentOffset.getY()
+        return collides(
+                brickRotator.getCurrentBrickShape(),
+                currentX,
+                currentY
         );
-
-        return collision; // true = game over
     }
 
     // Gets the current board matrix
@@ -167,25 +299,47 @@ public class SimpleBoard implements Board {
     }
 
     // Gets view data for rendering
+    // The same ViewData instance is refreshed and returned on every call, it is not a snapshot
     // Returns ViewData containing current brick, next brick and hold brick
     @Override
     public ViewData getViewData() {
-        int[][] holdMatrix = holdBrick != null ? holdBrick.getShapeMatrix().get(0) : null;
-        int[][] nextBrickMatrix = brickGenerator.getNextBrick().getShapeMatrix().get(0);
-
-        return new ViewData(
-                brickRotator.getCurrentShape(),
-                (int) currentOffset.x,
-                (int) currentOffset.y,
-                nextBrickMatrix,
-                holdMatrix
+        // Shared immutable registry shapes, so nothing is copied here
+        BrickShape holdShape = holdBrick != null ? holdBrick.getShape(0) : null;
+        BrickShape nextShape = brickGenerator.getNextBrick().getShape(0);
+
+        // The generator keeps its queue deep enough, so each peek is a plain array read
+        int previewCount = brickGenerator.getQueueDepth();
+        for (int i = 0; i < previewCount; i++) {
+            viewData.setNextShape(i, brickGenerator.peek(i).getShape(0));
+        }
+        viewData.setNextCount(previewCount);
+
+        return viewData.update(
+                brickRotator.getCurrentBrickShape(),
+                currentX,
+                currentY,
+                currentY + getDropDistance(),
+                nextShape,
+                holdShape
         );
     }
 
+    // Peeks at an upcoming brick, for lookahead search
+    // param n: the position in the queue, 0 is the next brick
+    // Returns the brick that will spawn after n other bricks
+    public Brick peekBrick(int n) {
+        return brickGenerator.peek(n);
+    }
+
+    // Gets how many upcoming bricks can be peeked without dealing new ones
+    public int getPreviewDepth() {
+        return brickGenerator.getQueueDepth();
+    }
+
     // Gets the matrix representation of the held brick
     // Returns 2D array of the held brick shape or null if no brick is held
     public int[][] getHoldBrickMatrix() {
-        return holdBrick != null ? holdBrick.getShapeMatrix().get(0) : null;
+        return holdBrick != null ? holdBrick.getShape(0).toMatrix() : null;
     }
 
     // Holds the current brick for later use
@@ -200,21 +354,177 @@ public class SimpleBoard implements Board {
         if (holdBrick == null) {
             // First hold - store current and get new brick
             holdBrick = currentBrick;
-            createNewBrick();
+            turnHoldPull = brickGenerator.getBrick();
+            spawnBrick(turnHoldPull);
         } else {
             // Swap current with held brick
-            Brick temp = currentBrick;
-            currentBrick = holdBrick;
-            holdBrick = temp;
+            Brick held = holdBrick;
+            holdBrick = currentBrick;
+            spawnBrick(held);
+        }
 
-            brickRotator.setBrick(currentBrick);
+        holdUsedThisTurn = true;
+        updatePieceHash();
+    }
+
+    // Recomputes the falling and held brick part of the state hash
+    private void updatePieceHash() {
+        long hash = 0;
+        if (currentBrick != null) hash ^= ZobristKeys.current(currentBrick.getPieceId());
+        if (holdBrick != null) hash ^= ZobristKeys.hold(holdBrick.getPieceId());
+        if (holdUsedThisTurn) hash ^= ZobristKeys.HOLD_USED;
+        pieceHash = hash;
+    }
+
+    // Gets a 64-bit hash of the board cells, the falling brick and the hold
+    // Each row keeps the XOR of its filled column keys, and the board hash combines the rows
+    // through a per-row multiplier, so moving a row during a clear costs O(1)
+    @Override
+    public long getStateHash() {
+        return backgroundHash ^ pieceHash;
+    }
+
+    // Gets the part of the state hash that only depends on the board cells
+    public long getBackgroundHash() {
+        return backgroundHash;
+    }
+
+    // Gets how many rows the current brick can fall before it lands
+    // Uses the cached surface landing row, so it costs at most one check per shape column
+    // instead of one collision test per row
+    // Returns the drop distance in rows
+    @Override
+    public int getDropDistance() {
+        if (currentBrick == null) return 0;
 
-            // Reset position
-            int brickWidth = brickRotator.getCurrentShape()[0].length;
-            currentOffset = new Point(width / 2 - brickWidth / 2, 0);
+        BrickShape shape = brickRotator.getCurrentBrickShape();
+        int landingRow = getSurfaceLandingRow(shape, currentX);
+        if (currentY > landingRow) {
+            // The brick is tucked under an overhang, the surface does not apply
+            return scanDropDistance(shape);
         }
+        return landingRow - currentY;
+    }
 
-        holdUsedThisTurn = true;
+    // Gets the row a brick would land on when dropped onto the column surfaces
+    // Results are cached per shape and column until the background board changes
+    // param shape: the brick shape
+    // param x: the column of the brick's top-left corner
+    private int getSurfaceLandingRow(BrickShape shape, int x) {
+        int index = ((shape.getPieceId() * MAX_ROTATIONS + shape.getRotation()) * (width + SHAPE_SIZE))
+                + x + SHAPE_SIZE;
+        if (landingStamps[index] == boardVersion) {
+            return landingRows[index];
+        }
+
+        int landingRow = Integer.MAX_VALUE;
+        for (int column = shape.getMinColumn(); column <= shape.getMaxColumn(); column++) {
+            int bottom = shape.getColumnBottom(column);
+            if (bottom >= 0) {
+                landingRow = Math.min(landingRow, columnTops[x + column] - 1 - bottom);
+            }
+        }
+        landingRows[index] = landingRow;
+        landingStamps[index] = boardVersion;
+        return landingRow;
+    }
+
+    // Marks cached landing rows as stale after the background board changed
+    private void backgroundChanged() {
+        boardVersion++;
+    }
+
+    // Moves the current brick straight down to its landing row
+    // Returns the number of rows the brick fell
+    @Override
+    public int dropBrick() {
+        return applyGravity(Integer.MAX_VALUE);
+    }
+
+    // Moves the current brick down by up to rows in one step
+    // The landing row is looked up once, so high gravity costs the same as a single row
+    // param rows: the most rows the brick may fall
+    // Returns the number of rows the brick fell
+    @Override
+    public int applyGravity(int rows) {
+        if (rows <= 0) return 0;
+        int distance = Math.min(rows, getDropDistance());
+        currentY += distance;
+        if (distance > 0) {
+            lastActionWasRotation = false;
+        }
+        return distance;
+    }
+
+    // Finds the drop distance by testing one row at a time
+    private int scanDropDistance(BrickShape shape) {
+        int distance = 0;
+        while (!collides(shape, currentX, currentY + distance + 1)) {
+            distance++;
+        }
+        return distance;
+    }
+
+    // Places the current brick directly in a rotation and column and locks it, then spawns the next brick
+    // param rotation: the rotation index to place the brick in
+    // param x: the column of the brick's top-left corner
+    // Returns a packed result, see Placement, or Placement.INVALID if the brick does not fit
+    @Override
+    public int placeBrick(int rotation, int x) {
+        int result = lockBrickAt(rotation, x);
+        if (Placement.isValid(result) && createNewBrick()) {
+            return Placement.withTopOut(result);
+        }
+        return result;
+    }
+
+    // Places the current brick directly in a rotation and column and locks it without spawning the next one
+    // The brick must fit at its current row in that rotation and column, and is then dropped
+    // straight down, merged and cleared
+    // param rotation: the rotation index to place the brick in
+    // param x: the column of the brick's top-left corner
+    // Returns a packed result without the top out flag, or Placement.INVALID if the brick does not fit
+    @Override
+    public int lockBrickAt(int rotation, int x) {
+        if (currentBrick == null || rotation < 0 || rotation >= brickRotator.getRotationCount()) {
+            return Placement.INVALID;
+        }
+        BrickShape shape = brickRotator.getBrickShape(rotation);
+        if (collides(shape, x, currentY)) {
+            return Placement.INVALID;
+        }
+
+        brickRotator.setCurrentShape(rotation);
+        currentX = x;
+        lastActionWasRotation = false;
+        int pieceId = currentBrick.getPieceId();
+        int distance = dropBrick();
+        mergeBrickToBackground();
+        int linesRemoved = removeFullRows();
+        boolean perfectClear = filledCells == 0;
+        return Placement.encode(pieceId, linesRemoved, distance, perfectClear, false);
+    }
+
+    // Places a sequence of bricks, one lock and one clear pass per brick
+    // Stops early at the first placement that does not fit or that tops out
+    // param rotations: rotation index of each placement
+    // param columns: column of each placement
+    // param count: number of placements to apply
+    // param results: receives the packed result of every applied placement
+    // Returns the number of placements applied
+    @Override
+    public int placeBricks(int[] rotations, int[] columns, int count, int[] results) {
+        for (int i = 0; i < count; i++) {
+            int result = placeBrick(rotations[i], columns[i]);
+            results[i] = result;
+            if (!Placement.isValid(result)) {
+                return i;
+            }
+            if (Placement.isTopOut(result)) {
+                return i + 1;
+            }
+        }
+        return count;
     }
 
     // Performs a hard drop (instant placement) of the current brick
@@ -222,9 +532,7 @@ public class SimpleBoard implements Board {
     public void hardDrop() {
         if (currentBrick == null) return;
 
-        while (moveBrickDown()) {
-            // Keep moving down until can't
-        }
+        dropBrick();
 
         mergeBrickToBackground();
         clearRows();
@@ -237,28 +545,745 @@ public class SimpleBoard implements Board {
     public void mergeBrickToBackground() {
         if (currentBrick == null) return;
 
-        currentGameMatrix = MatrixOperations.merge(
-                currentGameMatrix,
-                brickRotator.getCurrentShape(),
-                (int) currentOffset.getX(),
-                (int) currentOffset.getY()
+        recordLock(brickRotator.getCurrentBrickShape(), currentX, currentY);
+        lastSpin = SpinDetector.detect(this, brickRotator.getCurrentBrickShape(), currentX, currentY,
+                lastActionWasRotation, lastKick, allSpinEnabled);
+        lastLockedPieceId = currentBrick.getPieceId();
+        mergeShape(
+                brickRotator.getCurrentBrickShape(),
+                currentX,
+                currentY
         );
     }
 
-    // Clears completed rows from the board
+    // Starts an undo entry for the brick about to be merged
+    // Stores the turn start, the board counters and the previous value of every cell it covers
+    private void recordLock(BrickShape shape, int x, int y) {
+        int slot = undoJournal.push();
+        undoJournal.spawnBricks[slot] = turnSpawnBrick;
+        undoJournal.holdBricks[slot] = turnHoldBrick;
+        undoJournal.holdPulls[slot] = turnHoldPull;
+        undoJournal.topRows[slot] = topRow;
+        undoJournal.filledCounts[slot] = filledCells;
+        undoJournal.garbageCounts[slot] = garbageRows;
+        undoJournal.backgroundHashes[slot] = backgroundHash;
+        undoJournal.hasScore[slot] = score != null;
+        System.arraycopy(turnScore, 0, undoJournal.scores, slot * Score.STATE_SIZE, Score.STATE_SIZE);
+        for (int cell = 0; cell < shape.getCellCount(); cell++) {
+            int row = y + shape.getCellRow(cell);
+            int column = x + shape.getCellColumn(cell);
+            undoJournal.addCell(slot, row, column, currentGameMatrix[row][column]);
+        }
+        lockSlot = slot;
+    }
+
+    // Undoes the last locked brick
+    // Puts back the cells it wrote and the rows it cleared, returns the bricks it took to the queue,
+    // restores the hold and the score, and respawns the brick at the top of the board
+    // Costs O(brick) without a line clear and O(rows moved by the clear) with one
+    // Returns true if a brick was undone, false if there is nothing left to undo
+    @Override
+    public boolean undoLastPiece() {
+        int slot = undoJournal.latest();
+        if (slot < 0) return false;
+
+        // Return the bricks the turn in progress already took from the queue
+        if (lockSlot < 0) {
+            if (turnHoldPull != null) brickGenerator.pushBack(turnHoldPull);
+            if (turnSpawnBrick != null) brickGenerator.pushBack(turnSpawnBrick);
+        }
+
+        int removed = undoJournal.removedCounts[slot];
+        if (removed > 0) {
+            restoreClearedRows(slot, removed);
+        }
+
+        // Put back the cells covered by the merge, newest first
+        int first = slot * UndoJournal.MAX_CELLS;
+        for (int i = first + undoJournal.cellCounts[slot] - 1; i >= first; i--) {
+            int row = undoJournal.cellRows[i];
+            int column = undoJournal.cellColumns[i];
+            int value = undoJournal.cellValues[i];
+            if (value == 0 && currentGameMatrix[row][column] != 0) {
+                rowFill[row]--;
+                rowHashes[row] ^= columnKeys[column];
+            }
+            currentGameMatrix[row][column] = value;
+            refreshRowFeatures(row);
+            onRowRestored(row);
+        }
+
+        topRow = undoJournal.topRows[slot];
+        filledCells = undoJournal.filledCounts[slot];
+        garbageRows = undoJournal.garbageCounts[slot];
+        features.setFilledCells(filledCells);
+        backgroundHash = undoJournal.backgroundHashes[slot];
+        pendingTop = height;
+        pendingBottom = -1;
+        if (removed > 0) {
+            for (int column = 0; column < width; column++) {
+                rescanColumnTop(column);
+            }
+        } else {
+            for (int i = first; i < first + undoJournal.cellCounts[slot]; i++) {
+                rescanColumnTop(undoJournal.cellColumns[i]);
+            }
+        }
+        backgroundChanged();
+
+        // Return to the start of the undone turn
+        holdBrick = undoJournal.holdBricks[slot];
+        if (undoJournal.holdPulls[slot] != null) {
+            brickGenerator.pushBack(undoJournal.holdPulls[slot]);
+        }
+        turnSpawnBrick = undoJournal.spawnBricks[slot];
+        turnHoldBrick = holdBrick;
+        turnHoldPull = null;
+        holdUsedThisTurn = false;
+        lockSlot = -1;
+        spawnBrick(turnSpawnBrick);
+
+        if (score != null && undoJournal.hasScore[slot]) {
+            System.arraycopy(undoJournal.scores, slot * Score.STATE_SIZE, turnScore, 0, Score.STATE_SIZE);
+            score.restoreState(turnScore, 0);
+        }
+        undoJournal.pop();
+        return true;
+    }
+
+    // Reverses the compaction done by removeFullRows
+    // Rows are visited top to bottom, so each row is read before its index is written
+    private void restoreClearedRows(int slot, int removed) {
+        int compactTop = topRow - removed;
+        int bottom = undoJournal.compactBottoms[slot];
+        int base = slot * UndoJournal.MAX_ROWS;
+
+        // The emptied arrays sit just above the stack, reuse them for the removed rows
+        for (int i = 0; i < removed; i++) {
+            undoRows[i] = currentGameMatrix[compactTop + i];
+        }
+
+        int restored = 0;
+        for (int row = compactTop; row <= bottom; row++) {
+            if (restored < removed && undoJournal.removedRows[base + restored] == row) {
+                int[] contents = undoRows[restored];
+                System.arraycopy(undoJournal.removedCells, undoJournal.removedCellsOffset(slot, restored),
+                        contents, 0, width);
+                currentGameMatrix[row] = contents;
+                rowFill[row] = width;
+                long hash = 0;
+                for (int column = 0; column < width; column++) {
+                    hash ^= columnKeys[column];
+                }
+                rowHashes[row] = hash;
+                features.setRowTransitions(row, 0);
+                onRowRestored(row);
+                restored++;
+            } else {
+                int from = row + removed - restored;
+                if (from != row) {
+                    currentGameMatrix[row] = currentGameMatrix[from];
+                    rowFill[row] = rowFill[from];
+                    rowHashes[row] = rowHashes[from];
+                    features.moveRow(from, row);
+                    onRowMoved(from, row);
+                }
+            }
+        }
+        Arrays.fill(undoRows, null);
+    }
+
+    // Finds the surface of a column by scanning down from the top of the stack
+    private void rescanColumnTop(int column) {
+        int top = topRow;
+        while (top < height && currentGameMatrix[top][column] == 0) {
+            top++;
+        }
+        columnTops[column] = top;
+        refreshColumnFeatures(column);
+    }
+
+    // Copies the whole game state into a preallocated snapshot
+    // Only the rows from the top of the stack down are copied, the rest are known to be empty
+    // param state: the snapshot to write, sized for this board
+    void saveState(GameState state) {
+        int used = height - topRow;
+        for (int row = topRow; row < height; row++) {
+            System.arraycopy(currentGameMatrix[row], 0, state.cells, row * width, width);
+        }
+        System.arraycopy(rowFill, topRow, state.rowFill, topRow, used);
+        System.arraycopy(rowHashes, topRow, state.rowHashes, topRow, used);
+        System.arraycopy(columnTops, 0, state.columnTops, 0, width);
+        state.topRow = topRow;
+        state.filledCells = filledCells;
+        state.garbageRows = garbageRows;
+        state.pendingTop = pendingTop;
+        state.pendingBottom = pendingBottom;
+        state.backgroundHash = backgroundHash;
+
+        state.currentBrick = currentBrick;
+        state.currentX = currentX;
+        state.currentY = currentY;
+        state.rotation = brickRotator.getCurrentRotation();
+        state.lastActionWasRotation = lastActionWasRotation;
+        state.lastKick = lastKick;
+        state.holdBrick = holdBrick;
+        state.holdUsedThisTurn = holdUsedThisTurn;
+        state.turnSpawnBrick = turnSpawnBrick;
+        state.turnHoldBrick = turnHoldBrick;
+        state.turnHoldPull = turnHoldPull;
+        System.arraycopy(turnScore, 0, state.turnScore, 0, Score.STATE_SIZE);
+
+        state.queueSize = brickGenerator.saveQueue(state.queue);
+        state.randomState = brickGenerator.getRandomState();
+    }
+
+    // Replaces the whole game state with a snapshot written by saveState
+    // Rows that were used on either side are rewritten, the undo history is dropped
+    // param state: the snapshot to read, sized for this board
+    void restoreState(GameState state) {
+        int firstRow = Math.min(topRow, state.topRow);
+        for (int row = firstRow; row < state.topRow; row++) {
+            Arrays.fill(currentGameMatrix[row], 0);
+            rowFill[row] = 0;
+            rowHashes[row] = 0;
+        }
+        for (int row = state.topRow; row < height; row++) {
+            System.arraycopy(state.cells, row * width, currentGameMatrix[row], 0, width);
+        }
+        int used = height - state.topRow;
+        System.arraycopy(state.rowFill, state.topRow, rowFill, state.topRow, used);
+        System.arraycopy(state.rowHashes, state.topRow, rowHashes, state.topRow, used);
+        System.arraycopy(state.columnTops, 0, columnTops, 0, width);
+        for (int row = firstRow; row < height; row++) {
+            refreshRowFeatures(row);
+            onRowRestored(row);
+        }
+        for (int column = 0; column < width; column++) {
+            refreshColumnFeatures(column);
+        }
+        topRow = state.topRow;
+        filledCells = state.filledCells;
+        garbageRows = state.garbageRows;
+        features.setFilledCells(filledCells);
+        pendingTop = state.pendingTop;
+        pendingBottom = state.pendingBottom;
+        backgroundHash = state.backgroundHash;
+        backgroundChanged();
+
+        currentBrick = state.currentBrick;
+        if (currentBrick != null) {
+            brickRotator.setBrick(currentBrick);
+            brickRotator.setCurrentShape(state.rotation);
+        }
+        currentX = state.currentX;
+        currentY = state.currentY;
+        lastActionWasRotation = state.lastActionWasRotation;
+        lastKick = state.lastKick;
+        holdBrick = state.holdBrick;
+        holdUsedThisTurn = state.holdUsedThisTurn;
+        turnSpawnBrick = state.turnSpawnBrick;
+        turnHoldBrick = state.turnHoldBrick;
+        turnHoldPull = state.turnHoldPull;
+        System.arraycopy(state.turnScore, 0, turnScore, 0, Score.STATE_SIZE);
+        updatePieceHash();
+
+        brickGenerator.restoreQueue(state.queue, state.queueSize);
+        brickGenerator.setRandomState(state.randomState);
+
+        undoJournal.clear();
+        lockSlot = -1;
+    }
+
+    // Packs the background cells into a compact copy
+    // Only the rows from the top of the stack down are packed, the falling brick is not included
+    // Returns the packed board
+    public PackedBoard packBackground() {
+        int rowWords = MatrixOperations.packedRowWords(width);
+        long[] words = new long[(height - topRow) * rowWords];
+        for (int row = topRow; row < height; row++) {
+            MatrixOperations.packRow(currentGameMatrix[row], words, (row - topRow) * rowWords);
+        }
+        return new PackedBoard(width, height, topRow, words);
+    }
+
+    // Replaces the background cells with a packed board and rebuilds the counters, hash and features
+    // The falling brick, hold and queue are left as they are and the undo history is dropped
+    // Garbage rows are recognised as the bottom rows holding GARBAGE_COLOR cells
+    // param packed: a packed board of the same size as this board
+    public void loadBackground(PackedBoard packed) {
+        if (packed.getWidth() != width || packed.getHeight() != height) {
+            throw new IllegalArgumentException("Board size does not match the packed board");
+        }
+        int firstRow = Math.min(topRow, packed.getTopRow());
+        backgroundHash = 0;
+        filledCells = 0;
+        pendingTop = height;
+        pendingBottom = -1;
+        for (int row = firstRow; row < height; row++) {
+            int[] cells = currentGameMatrix[row];
+            packed.unpackRow(row, cells);
+            int fill = 0;
+            long hash = 0;
+            for (int column = 0; column < width; column++) {
+                if (cells[column] != 0) {
+                    fill++;
+                    hash ^= columnKeys[column];
+                }
+            }
+            rowFill[row] = fill;
+            rowHashes[row] = hash;
+            filledCells += fill;
+            backgroundHash ^= hash * rowKeys[row];
+            // Full rows are left for the next clear, as if a brick had just completed them
+            if (fill == width) {
+                pendingTop = Math.min(pendingTop, row);
+                pendingBottom = row;
+            }
+            refreshRowFeatures(row);
+            onRowRestored(row);
+        }
+
+        topRow = firstRow;
+        while (topRow < height && rowFill[topRow] == 0) {
+            topRow++;
+        }
+        for (int column = 0; column < width; column++) {
+            rescanColumnTop(column);
+        }
+        garbageRows = 0;
+        while (garbageRows < height - topRow && hasGarbage(currentGameMatrix[height - 1 - garbageRows])) {
+            garbageRows++;
+        }
+        features.setFilledCells(filledCells);
+        backgroundChanged();
+        undoJournal.clear();
+        lockSlot = -1;
+    }
+
+    private static boolean hasGarbage(int[] row) {
+        for (int cell : row) {
+            if (cell == GARBAGE_COLOR) return true;
+        }
+        return false;
+    }
+
+    // Gets the number of locked bricks that can currently be undone
+    public int getUndoCount() {
+        return undoJournal.size();
+    }
+
+    // Sets the score that undo restores along with the board
+    // param score: the score of the game played on this board
+    public void setScore(Score score) {
+        this.score = score;
+    }
+
+    // Gets the spin the last merged brick was locked with
+    @Override
+    public SpinType getLastSpin() {
+        return lastSpin;
+    }
+
+    // Gets the piece id of the last merged brick
+    @Override
+    public int getLastLockedPieceId() {
+        return lastLockedPieceId;
+    }
+
+    // Enables spin detection for bricks other than T
+    // param enabled: true to score S, Z, J, L and I spins as well
+    public void setAllSpinEnabled(boolean enabled) {
+        this.allSpinEnabled = enabled;
+    }
+
+    // Turns the console messages for resets on or off
+    // param logging: false to reset silently
+    void setLogging(boolean logging) {
+        this.logging = logging;
+    }
+
+    // Checks if spins of bricks other than T are detected
+    public boolean isAllSpinEnabled() {
+        return allSpinEnabled;
+    }
+
+    // Checks if a cell is outside the board or filled, as used by the spin corner test
+    // param row: the row index
+    // param column: the column index
+    boolean isBlocked(int row, int column) {
+        return row < 0 || row >= height || column < 0 || column >= width
+                || currentGameMatrix[row][column] != 0;
+    }
+
+    // Checks whether a brick shape would collide at a position
+    // Subclasses can replace the cell-by-cell check with a faster representation
+    // param shape: the precomputed brick shape to test
+    // param x: the column of the brick's top-left corner
+    // param y: the row of the brick's top-left corner
+    // Returns true if the brick overlaps a filled cell or leaves the board
+    protected boolean collides(BrickShape shape, int x, int y) {
+        return MatrixOperations.intersect(currentGameMatrix, shape, x, y);
+    }
+
+    // Writes a brick shape into the background board in place
+    // Updates the fill count of every touched row so full rows are known without scanning
+    // param shape: the precomputed brick shape to write
+    // param x: the column of the brick's top-left corner
+    // param y: the row of the brick's top-left corner
+    protected void mergeShape(BrickShape shape, int x, int y) {
+        int color = shape.getColor();
+        for (int cell = 0; cell < shape.getCellCount(); cell++) {
+            int row = y + shape.getCellRow(cell);
+            int column = x + shape.getCellColumn(cell);
+            // A brick swapped in by hold can overlap the stack, so only count newly filled cells
+            if (currentGameMatrix[row][column] == 0) {
+                rowFill[row]++;
+                filledCells++;
+                backgroundHash ^= rowHashes[row] * rowKeys[row];
+                rowHashes[row] ^= columnKeys[column];
+                backgroundHash ^= rowHashes[row] * rowKeys[row];
+            }
+            currentGameMatrix[row][column] = color;
+        }
+        for (int column = shape.getMinColumn(); column <= shape.getMaxColumn(); column++) {
+            int top = shape.getColumnTop(column);
+            if (top >= 0) {
+                columnTops[x + column] = Math.min(columnTops[x + column], y + top);
+                refreshColumnFeatures(x + column);
+            }
+        }
+        for (int row = y + shape.getMinRow(); row <= y + shape.getMaxRow(); row++) {
+            refreshRowFeatures(row);
+        }
+        features.setFilledCells(filledCells);
+
+        backgroundChanged();
+
+        // Only rows touched since the last clear can have become full
+        topRow = Math.min(topRow, y + shape.getMinRow());
+        pendingTop = Math.min(pendingTop, y + shape.getMinRow());
+        pendingBottom = Math.max(pendingBottom, y + shape.getMaxRow());
+    }
+
+    // Called when clearing moves a row down to a new index
+    // Subclasses that keep per-row data move it along with the row
+    // param from: the old row index
+    // param to: the new row index
+    protected void onRowMoved(int from, int to) {
+    }
+
+    // Called when a row is emptied by clearing
+    // param row: the index of the emptied row
+    protected void onRowEmptied(int row) {
+    }
+
+    // Called when undo writes cells of a row back, read the row from the board matrix
+    // param row: the index of the restored row
+    protected void onRowRestored(int row) {
+    }
+
+    // Gets the brick that is currently falling
+    // Returns the current brick or null if no brick has been spawned
+    protected Brick getCurrentBrick() {
+        return currentBrick;
+    }
+
+    // Gets the column of the current brick's top-left corner
+    protected int getCurrentX() {
+        return currentX;
+    }
+
+    // Gets the row of the current brick's top-left corner
+    protected int getCurrentY() {
+        return currentY;
+    }
+
+    // Gets the rotation index of the current brick
+    protected int getCurrentRotation() {
+        return brickRotator.getCurrentRotation();
+    }
+
+    // Gets the width of the board
+    // Returns the number of columns
+    public int getWidth() {
+        return width;
+    }
+
+    // Gets the height of the board
+    // Returns the number of rows
+    public int getHeight() {
+        return height;
+    }
+
+    // Clears completed rows from the board in place
+    // Full rows come from the fill counters, the rows above them are remapped by moving
+    // row references only, and the cleared row arrays are reused as the new empty rows
     // Returns ClearRow object containing cleared rows data
     @Override
     public ClearRow clearRows() {
-        ClearRow clearRow = MatrixOperations.checkRemoving(currentGameMatrix);
-        currentGameMatrix = clearRow.getNewMatrix();
-        return clearRow;
+        int linesRemoved = removeFullRows();
+        if (linesRemoved == 0) {
+            return noRowsCleared;
+        }
+
+        int scoreBonus = 50 * linesRemoved * linesRemoved;
+        return new ClearRow(linesRemoved, currentGameMatrix, scoreBonus);
+    }
+
+    // Removes the full rows found among the rows touched since the last clear
+    // Returns the number of rows removed
+    private int removeFullRows() {
+        int firstRow = pendingTop;
+        int bottom = pendingBottom;
+        int linesRemoved = 0;
+        int garbageRemoved = 0;
+        for (int row = firstRow; row <= bottom; row++) {
+            if (rowFill[row] == width) {
+                linesRemoved++;
+                if (row >= height - garbageRows) {
+                    garbageRemoved++;
+                }
+            }
+        }
+        pendingTop = height;
+        pendingBottom = -1;
+
+        if (linesRemoved == 0) {
+            return 0;
+        }
+
+        // Keep the removed rows so undo can put them back
+        if (lockSlot >= 0) {
+            if (linesRemoved > UndoJournal.MAX_ROWS) {
+                // Several merges without a clear in between, too much to journal
+                undoJournal.clear();
+                lockSlot = -1;
+            } else {
+                undoJournal.compactBottoms[lockSlot] = bottom;
+                for (int row = firstRow; row <= bottom; row++) {
+                    if (rowFill[row] == width) {
+                        undoJournal.addRemovedRow(lockSlot, row, currentGameMatrix[row]);
+                    }
+                }
+            }
+        }
+
+        // Every row in the compacted range changes index, so take them out of the hash first
+        for (int row = topRow; row <= bottom; row++) {
+            backgroundHash ^= rowHashes[row] * rowKeys[row];
+        }
+
+        // Compact the rows between the top of the stack and the lowest touched row
+        int target = bottom;
+        for (int row = bottom; row >= topRow; row--) {
+            if (rowFill[row] == width) {
+                continue;
+            }
+            if (target != row) {
+                int[] kept = currentGameMatrix[row];
+                currentGameMatrix[row] = currentGameMatrix[target];
+                currentGameMatrix[target] = kept;
+                rowFill[target] = rowFill[row];
+                rowHashes[target] = rowHashes[row];
+                features.moveRow(row, target);
+                onRowMoved(row, target);
+            }
+            target--;
+        }
+
+        // The cleared arrays ended up just above the remaining stack
+        for (int row = target; row >= topRow; row--) {
+            Arrays.fill(currentGameMatrix[row], 0);
+            rowFill[row] = 0;
+            rowHashes[row] = 0;
+            features.setRowTransitions(row, 0);
+            onRowEmptied(row);
+        }
+        topRow += linesRemoved;
+        garbageRows -= garbageRemoved;
+        for (int row = topRow; row <= bottom; row++) {
+            backgroundHash ^= rowHashes[row] * rowKeys[row];
+        }
+        filledCells -= linesRemoved * width;
+        features.setFilledCells(filledCells);
+        backgroundChanged();
+
+        // Rows only move down, so each column surface is found by scanning down from its old top
+        for (int column = 0; column < width; column++) {
+            int top = columnTops[column];
+            while (top < height && currentGameMatrix[top][column] == 0) {
+                top++;
+            }
+            columnTops[column] = top;
+            refreshColumnFeatures(column);
+        }
+        return linesRemoved;
+    }
+
+    // Gets the number of filled cells in a row
+    // param row: the row index
+    public int getRowFill(int row) {
+        return rowFill[row];
+    }
+
+    // Gets the number of filled cells on the board
+    // Kept up to date on merge and clear, so perfect clear checks never scan the matrix
+    @Override
+    public int getFilledCellCount() {
+        return filledCells;
+    }
+
+    // Gets the number of rows from the floor up to the highest non-empty row
+    @Override
+    public int getStackHeight() {
+        return height - topRow;
+    }
+
+    // Gets the surface height of a column
+    // param column: the column index
+    // Returns the number of rows from the floor up to and including the highest filled cell
+    public int getColumnHeight(int column) {
+        return height - columnTops[column];
+    }
+
+    // Gets the evaluation features of the board, kept up to date on every merge, clear and undo
+    // Returns a read-only view that stays valid for the life of the board
+    @Override
+    public BoardFeatures getFeatures() {
+        return features;
+    }
+
+    // Recomputes the transitions of a row after its cells changed
+    private void refreshRowFeatures(int row) {
+        features.setRowTransitions(row, BoardFeatures.countRowTransitions(currentGameMatrix[row]));
+    }
+
+    // Passes a column's new surface height to the features
+    private void refreshColumnFeatures(int column) {
+        features.setColumnHeight(column, height - columnTops[column]);
+    }
+
+    // Pushes garbage rows in from the bottom, each filled except for one hole
+    // Rows are moved by reference, so only the used part of the stack is touched and only the new rows
+    // are written, reusing the empty row arrays that drop off the top
+    // A falling brick stays where it is unless the stack now overlaps it, then it is pushed up
+    // The undo history is dropped, since every row changes index
+    // param count: the number of rows to add
+    // param holeColumns: the hole column of each new row, the last one ends up at the bottom
+    // Returns true if the stack was pushed out of the top or the falling brick has no room left
+    @Override
+    public boolean addGarbageRows(int count, int[] holeColumns) {
+        if (count <= 0) return false;
+        if (count > height || holeColumns.length < count) {
+            throw new IllegalArgumentException("Cannot add " + count + " garbage rows to a board of height " + height);
+        }
+        for (int i = 0; i < count; i++) {
+            if (holeColumns[i] < 0 || holeColumns[i] >= width) {
+                throw new IllegalArgumentException("Garbage hole column out of range: " + holeColumns[i]);
+            }
+        }
+
+        // A brick that already overlaps the stack has been merged and is not falling
+        BrickShape shape = currentBrick != null ? brickRotator.getCurrentBrickShape() : null;
+        boolean falling = shape != null && !collides(shape, currentX, currentY);
+
+        // Rows above start move up by count, the rows they replace are recycled as garbage
+        // Those are empty rows above the stack unless the stack is pushed out of the top
+        boolean toppedOut = topRow < count;
+        int start = Math.max(count, topRow);
+        int firstMoved = start - count;
+        if (spareRows == null) {
+            spareRows = new int[height][];
+        }
+        for (int row = firstMoved; row < height; row++) {
+            backgroundHash ^= rowHashes[row] * rowKeys[row];
+        }
+        for (int i = 0; i < count; i++) {
+            spareRows[i] = currentGameMatrix[firstMoved + i];
+            filledCells -= rowFill[firstMoved + i];
+        }
+
+        for (int row = start; row < height; row++) {
+            int to = row - count;
+            currentGameMatrix[to] = currentGameMatrix[row];
+            rowFill[to] = rowFill[row];
+            rowHashes[to] = rowHashes[row];
+            features.moveRow(row, to);
+            onRowMoved(row, to);
+        }
+
+        long fullRowHash = 0;
+        for (int column = 0; column < width; column++) {
+            fullRowHash ^= columnKeys[column];
+        }
+        for (int i = 0; i < count; i++) {
+            int row = height - count + i;
+            int[] cells = spareRows[i];
+            spareRows[i] = null;
+            Arrays.fill(cells, GARBAGE_COLOR);
+            cells[holeColumns[i]] = 0;
+            currentGameMatrix[row] = cells;
+            rowFill[row] = width - 1;
+            rowHashes[row] = fullRowHash ^ columnKeys[holeColumns[i]];
+            filledCells += width - 1;
+            refreshRowFeatures(row);
+            onRowRestored(row);
+        }
+        for (int row = firstMoved; row < height; row++) {
+            backgroundHash ^= rowHashes[row] * rowKeys[row];
+        }
+
+        topRow = firstMoved;
+        while (topRow < height && rowFill[topRow] == 0) {
+            topRow++;
+        }
+        garbageRows = Math.min(height, garbageRows + count);
+        for (int column = 0; column < width; column++) {
+            if (columnTops[column] >= start && columnTops[column] < height) {
+                columnTops[column] -= count;
+                refreshColumnFeatures(column);
+            } else {
+                rescanColumnTop(column);
+            }
+        }
+        if (pendingBottom >= 0) {
+            pendingTop = Math.max(0, pendingTop - count);
+            pendingBottom -= count;
+            if (pendingBottom < 0) {
+                pendingTop = height;
+            }
+        }
+        features.setFilledCells(filledCells);
+        backgroundChanged();
+        undoJournal.clear();
+        lockSlot = -1;
+
+        // Lift the falling brick out of the new stack if it has to move
+        if (falling && collides(shape, currentX, currentY)) {
+            int lift = 1;
+            while (lift <= count && collides(shape, currentX, currentY - lift)) {
+                lift++;
+            }
+            if (lift > count) {
+                return true;
+            }
+            currentY -= lift;
+        }
+        return toppedOut;
+    }
+
+    // Gets the number of garbage rows left at the bottom of the board
+    @Override
+    public int getGarbageRowCount() {
+        return garbageRows;
     }
 
     // Gets the score object
     // Returns Score object for tracking points
     @Override
     public Score getScore() {
-        return null;
+        return score;
     }
 
     // Starts a new game
@@ -271,16 +1296,38 @@ public class SimpleBoard implements Board {
     // Resets the board to initial state
     @Override
     public void reset() {
-        System.out.println("=== SIMPLEBOARD RESET ===");
+        if (logging) System.out.println("=== SIMPLEBOARD RESET ===");
 
-        // Clear the board matrix
-        currentGameMatrix = new int[height][width];
+        // Clear the used part of the board matrix in place
+        for (int row = topRow; row < height; row++) {
+            Arrays.fill(currentGameMatrix[row], 0);
+            rowFill[row] = 0;
+            rowHashes[row] = 0;
+        }
+        Arrays.fill(columnTops, height);
+        backgroundHash = 0;
+        topRow = height;
+        filledCells = 0;
+        garbageRows = 0;
+        pendingTop = height;
+        pendingBottom = -1;
+        features.reset();
+        backgroundChanged();
 
         // Reset game state
         holdBrick = null;
         holdUsedThisTurn = false;
         currentBrick = null;
+        lastActionWasRotation = false;
+        lastSpin = SpinType.NONE;
+        lastLockedPieceId = -1;
+        undoJournal.clear();
+        lockSlot = -1;
+        turnSpawnBrick = null;
+        turnHoldBrick = null;
+        turnHoldPull = null;
+        updatePieceHash();
 
-        System.out.println("Board reset complete");
+        if (logging) System.out.println("Board reset complete");
     }
 }
\ No newline at end of file
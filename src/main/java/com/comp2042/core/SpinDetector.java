@@ -0,0 +1,74 @@
+// Detects T-spins and, optionally, spins of the other bricks when a brick locks
+// T-spins use the 3-corner rule on the T's 3x3 box with one precomputed front corner mask per rotation,
+// other bricks count when they were rotated into a spot they cannot leave
+// Every check is a fixed handful of cell or collision tests, nothing scans the board
+
+package com.comp2042.core;
+
+import com.comp2042.logic.bricks.BrickShape;
+import com.comp2042.logic.bricks.BrickShapeRegistry;
+import com.comp2042.model.SpinType;
+
+final class SpinDetector {
+
+    // Corners of the T's 3x3 box, bit i of a corner mask is corner i
+    private static final int[] CORNER_ROWS = {0, 0, 2, 2};
+    private static final int[] CORNER_COLUMNS = {0, 2, 0, 2};
+    private static final int TOP_LEFT = 1;
+    private static final int TOP_RIGHT = 1 << 1;
+    private static final int BOTTOM_LEFT = 1 << 2;
+    private static final int BOTTOM_RIGHT = 1 << 3;
+
+    // Corners on the pointing side of the T, indexed by rotation (0, L, 2, R)
+    private static final int[] FRONT_CORNERS = {
+            TOP_LEFT | TOP_RIGHT,
+            TOP_LEFT | BOTTOM_LEFT,
+            BOTTOM_LEFT | BOTTOM_RIGHT,
+            TOP_RIGHT | BOTTOM_RIGHT
+    };
+
+    // The last SRS kick of a transition turns a mini into a full T-spin
+    static final int LAST_KICK = 4;
+
+    //We don't want to instantiate this utility class
+    private SpinDetector() {
+
+    }
+
+    // Classifies the spin of a brick about to be locked
+    // param board: the board, before the brick is merged
+    // param shape: the shape of the brick
+    // param x: the column of the brick's top-left corner
+    // param y: the row of the brick's top-left corner
+    // param rotated: true if the last successful action on the brick was a rotation
+    // param kick: the kick index used by that rotation
+    // param allSpin: true to also detect spins of bricks other than T
+    static SpinType detect(SimpleBoard board, BrickShape shape, int x, int y,
+                           boolean rotated, int kick, boolean allSpin) {
+        if (!rotated) {
+            return SpinType.NONE;
+        }
+
+        if (shape.getPieceId() == BrickShapeRegistry.T) {
+            int corners = 0;
+            for (int i = 0; i < CORNER_ROWS.length; i++) {
+                if (board.isBlocked(y + CORNER_ROWS[i], x + CORNER_COLUMNS[i])) {
+                    corners |= 1 << i;
+                }
+            }
+            if (Integer.bitCount(corners) < 3) {
+                return SpinType.NONE;
+            }
+            int front = FRONT_CORNERS[shape.getRotation()];
+            return (corners & front) == front || kick == LAST_KICK ? SpinType.FULL : SpinType.MINI;
+        }
+
+        if (allSpin && shape.getPieceId() != BrickShapeRegistry.O
+                && board.collides(shape, x, y - 1)
+                && board.collides(shape, x - 1, y)
+                && board.collides(shape, x + 1, y)) {
+            return SpinType.MINI;
+        }
+        return SpinType.NONE;
+    }
+}
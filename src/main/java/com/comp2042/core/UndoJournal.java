@@ -0,0 +1,136 @@
+// Bounded ring buffer of per-lock board deltas used to undo placed bricks
+// Each entry stores only what one lock changed: the cells it wrote, the rows it cleared,
+// the bricks it took from the queue and the scoring values before it
+// Every array is allocated up front, so recording a lock never allocates
+
+package com.comp2042.core;
+
+import com.comp2042.logic.bricks.Brick;
+
+final class UndoJournal {
+
+    // A brick covers at most a 4x4 shape matrix, so it writes at most 16 cells over 4 rows
+    static final int MAX_CELLS = 16;
+    static final int MAX_ROWS = 4;
+
+    private final int capacity;
+    private final int width;
+    private int head;
+    private int size;
+
+    // Turn state: the brick that spawned, the hold before it and the brick pulled by a first hold
+    final Brick[] spawnBricks;
+    final Brick[] holdBricks;
+    final Brick[] holdPulls;
+
+    // Board counters before the lock
+    final int[] topRows;
+    final int[] filledCounts;
+    final int[] garbageCounts;
+    final long[] backgroundHashes;
+
+    // Cells written by the merge with their previous values
+    final int[] cellCounts;
+    final int[] cellRows;
+    final int[] cellColumns;
+    final int[] cellValues;
+
+    // Rows removed by the clear, by their index before the clear, and their contents
+    final int[] removedCounts;
+    final int[] removedRows;
+    final int[] removedCells;
+    final int[] compactBottoms;
+
+    // Scoring values when the brick spawned
+    final int[] scores;
+    final boolean[] hasScore;
+
+    // Constructs a journal that remembers the last capacity locks
+    // param capacity: the number of locks kept before the oldest is dropped
+    // param width: the width of the board in cells
+    UndoJournal(int capacity, int width) {
+        this.capacity = capacity;
+        this.width = width;
+        spawnBricks = new Brick[capacity];
+        holdBricks = new Brick[capacity];
+        holdPulls = new Brick[capacity];
+        topRows = new int[capacity];
+        filledCounts = new int[capacity];
+        garbageCounts = new int[capacity];
+        backgroundHashes = new long[capacity];
+        cellCounts = new int[capacity];
+        cellRows = new int[capacity * MAX_CELLS];
+        cellColumns = new int[capacity * MAX_CELLS];
+        cellValues = new int[capacity * MAX_CELLS];
+        removedCounts = new int[capacity];
+        removedRows = new int[capacity * MAX_ROWS];
+        removedCells = new int[capacity * MAX_ROWS * width];
+        compactBottoms = new int[capacity];
+        scores = new int[capacity * Score.STATE_SIZE];
+        hasScore = new boolean[capacity];
+    }
+
+    // Starts a new entry, dropping the oldest one when the journal is full
+    // Returns the slot of the new entry
+    int push() {
+        int slot = (head + size) % capacity;
+        if (size == capacity) {
+            head = (head + 1) % capacity;
+        } else {
+            size++;
+        }
+        cellCounts[slot] = 0;
+        removedCounts[slot] = 0;
+        return slot;
+    }
+
+    // Gets the slot of the newest entry
+    // Returns the slot or -1 if the journal is empty
+    int latest() {
+        return size == 0 ? -1 : (head + size - 1) % capacity;
+    }
+
+    // Drops the newest entry
+    void pop() {
+        if (size > 0) {
+            int slot = latest();
+            spawnBricks[slot] = null;
+            holdBricks[slot] = null;
+            holdPulls[slot] = null;
+            size--;
+        }
+    }
+
+    // Records one cell written by the merge of the newest entry
+    void addCell(int slot, int row, int column, int oldValue) {
+        int i = slot * MAX_CELLS + cellCounts[slot]++;
+        cellRows[i] = row;
+        cellColumns[i] = column;
+        cellValues[i] = oldValue;
+    }
+
+    // Records one row removed by the clear of the newest entry
+    void addRemovedRow(int slot, int row, int[] contents) {
+        int i = slot * MAX_ROWS + removedCounts[slot]++;
+        removedRows[i] = row;
+        System.arraycopy(contents, 0, removedCells, i * width, width);
+    }
+
+    // Gets the offset of a removed row's contents in removedCells
+    int removedCellsOffset(int slot, int index) {
+        return (slot * MAX_ROWS + index) * width;
+    }
+
+    // Gets the number of locks that can be undone
+    int size() {
+        return size;
+    }
+
+    // Forgets every entry
+    void clear() {
+        while (size > 0) {
+            pop();
+        }
+        head = 0;
+    }
+}
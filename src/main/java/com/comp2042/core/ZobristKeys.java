@@ -0,0 +1,48 @@
+// Random 64-bit keys used to hash board states
+// Keys are derived from their index with a fixed mixing function, so every board of any size
+// agrees on them and no key tables have to be allocated
+
+package com.comp2042.core;
+
+final class ZobristKeys {
+
+    private static final long COLUMN_SEED = 0x6A09E667F3BCC908L;
+    private static final long ROW_SEED = 0xBB67AE8584CAA73BL;
+    private static final long CURRENT_SEED = 0x3C6EF372FE94F82BL;
+    private static final long HOLD_SEED = 0xA54FF53A5F1D36F1L;
+
+    // Key mixed in while the hold has been used for the current brick
+    static final long HOLD_USED = mix(0x510E527FADE682D1L);
+
+    //We don't want to instantiate this utility class
+    private ZobristKeys() {
+
+    }
+
+    // Key of a filled cell in a column, combined per row before the row key is applied
+    static long column(int column) {
+        return mix(COLUMN_SEED + column);
+    }
+
+    // Odd multiplier that places a row's column keys at its row index
+    static long row(int row) {
+        return mix(ROW_SEED + row) | 1L;
+    }
+
+    // Key of the falling brick
+    static long current(int pieceId) {
+        return mix(CURRENT_SEED + pieceId);
+    }
+
+    // Key of the held brick
+    static long hold(int pieceId) {
+        return mix(HOLD_SEED + pieceId);
+    }
+
+    // SplitMix64 finaliser
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -1,10 +1,7 @@
 package com.comp2042.logic;
 
-import com.comp2042.model.ClearRow;
+import com.comp2042.logic.bricks.BrickShape;
 
-import java.util.ArrayDeque;
-import java.util.ArrayList;
-import java.util.Deque;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -29,9 +26,21 @@ public class MatrixOperations {
         return false;
     }
 
+    // Same check as above, but only visits the occupied cells of a precomputed shape
+    public static boolean intersect(final int[][] matrix, final BrickShape shape, int x, int y) {
+        for (int cell = 0; cell < shape.getCellCount(); cell++) {
+            int targetX = x + shape.getCellColumn(cell);
+            int targetY = y + shape.getCellRow(cell);
+            if (checkOutOfBound(matrix, targetX, targetY) || matrix[targetY][targetX] != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private static boolean checkOutOfBound(int[][] matrix, int targetX, int targetY) {
         boolean returnValue = true;
-        if (targetX >= 0 && targetY < matrix.length && targetX < matrix[targetY].length) {
+        if (targetX >= 0 && targetY >= 0 && targetY < matrix.length && targetX < matrix[targetY].length) {
             returnValue = false;
         }
         return returnValue;
@@ -62,36 +71,71 @@ public class MatrixOperations {
         return copy;
     }
 
-    public static ClearRow checkRemoving(final int[][] matrix) {
-        int[][] tmp = new int[matrix.length][matrix[0].length];
-        Deque<int[]> newRows = new ArrayDeque<>();
-        List<Integer> clearedRows = new ArrayList<>();
-
-        for (int i = 0; i < matrix.length; i++) {
-            int[] tmpRow = new int[matrix[i].length];
-            boolean rowToClear = true;
-            for (int j = 0; j < matrix[0].length; j++) {
-                if (matrix[i][j] == 0) {
-                    rowToClear = false;
+    // Packed rows hold each cell colour in CELL_BITS bits, CELLS_PER_WORD cells to a long,
+    // so a 10 wide row is a single long
+    public static final int CELL_BITS = 4;
+    public static final int CELLS_PER_WORD = Long.SIZE / CELL_BITS;
+    public static final int MAX_PACKED_COLOR = (1 << CELL_BITS) - 1;
+
+    // Gets the number of longs one packed row of the given width takes
+    public static int packedRowWords(int width) {
+        return (width + CELLS_PER_WORD - 1) / CELLS_PER_WORD;
+    }
+
+    // Packs one row of cell colours into longs, cell i of a word sits at bit i * CELL_BITS
+    // param row: the cell colours, each between 0 and MAX_PACKED_COLOR
+    // param into: the buffer to write packedRowWords(row.length) words to
+    // param offset: the index of the first word
+    public static void packRow(final int[] row, long[] into, int offset) {
+        int words = packedRowWords(row.length);
+        for (int word = 0; word < words; word++) {
+            int first = word * CELLS_PER_WORD;
+            int last = Math.min(row.length, first + CELLS_PER_WORD);
+            long bits = 0;
+            for (int column = first; column < last; column++) {
+                int color = row[column];
+                if (color < 0 || color > MAX_PACKED_COLOR) {
+                    throw new IllegalArgumentException("Cell colour " + color + " does not fit in " + CELL_BITS + " bits");
                 }
-                tmpRow[j] = matrix[i][j];
-            }
-            if (rowToClear) {
-                clearedRows.add(i);
-            } else {
-                newRows.add(tmpRow);
+                bits |= (long) color << ((column - first) * CELL_BITS);
             }
+            into[offset + word] = bits;
         }
-        for (int i = matrix.length - 1; i >= 0; i--) {
-            int[] row = newRows.pollLast();
-            if (row != null) {
-                tmp[i] = row;
-            } else {
-                break;
-            }
+    }
+
+    // Unpacks one row written by packRow
+    // param from: the packed words
+    // param offset: the index of the first word of the row
+    // param into: the row to fill, its length is the row width
+    public static void unpackRow(final long[] from, int offset, int[] into) {
+        for (int column = 0; column < into.length; column++) {
+            long bits = from[offset + column / CELLS_PER_WORD];
+            into[column] = (int) (bits >>> ((column % CELLS_PER_WORD) * CELL_BITS)) & MAX_PACKED_COLOR;
+        }
+    }
+
+    // Packs a whole matrix, row by row from the top
+    // Returns height * packedRowWords(width) longs
+    public static long[] pack(final int[][] matrix) {
+        int words = packedRowWords(matrix[0].length);
+        long[] packed = new long[matrix.length * words];
+        for (int row = 0; row < matrix.length; row++) {
+            packRow(matrix[row], packed, row * words);
+        }
+        return packed;
+    }
+
+    // Unpacks a matrix written by pack
+    // param packed: the packed rows
+    // param width: the number of columns of the matrix
+    // Returns a new matrix with one row per packed row
+    public static int[][] unpack(final long[] packed, int width) {
+        int words = packedRowWords(width);
+        int[][] matrix = new int[packed.length / words][width];
+        for (int row = 0; row < matrix.length; row++) {
+            unpackRow(packed, row * words, matrix[row]);
         }
-        int scoreBonus = 50 * clearedRows.size() * clearedRows.size();
-        return new ClearRow(clearedRows.size(), tmp, scoreBonus);
+        return matrix;
     }
 
     public static List<int[][]> deepCopyList(List<int[][]> list){
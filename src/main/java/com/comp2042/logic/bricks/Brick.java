@@ -1,8 +1,42 @@
+// Base class of the seven bricks
+// Sealed so the set of bricks is closed, and the piece id is a final field, so reading a brick's
+// id, rotations and shapes is a field load and an array lookup rather than a call that can
+// land in any of seven implementations
+
 package com.comp2042.logic.bricks;
 
 import java.util.List;
 
-public interface Brick {
+public abstract sealed class Brick permits IBrick, JBrick, LBrick, OBrick, SBrick, TBrick, ZBrick {
+
+    private final int pieceId;
+
+    // Constructs a brick with its registry id
+    Brick(int pieceId) {
+        this.pieceId = pieceId;
+    }
+
+    // Gets fresh copies of the rotation matrices, only used to build the shared shapes
+    public abstract List<int[][]> getShapeMatrix();
+
+    // Gets the id of this brick in BrickShapeRegistry
+    public final int getPieceId() {
+        return pieceId;
+    }
+
+    // Gets the shared, precomputed rotations of this brick without copying
+    public final List<BrickShape> getShapes() {
+        return BrickShapeRegistry.getShapes(pieceId);
+    }
+
+    // Gets a single rotation of this brick
+    // param rotation: the rotation index
+    public final BrickShape getShape(int rotation) {
+        return BrickShapeRegistry.getShape(pieceId, rotation);
+    }
 
-    List<int[][]> getShapeMatrix();
+    // Gets the number of rotations of this brick
+    public final int getRotationCount() {
+        return BrickShapeRegistry.getRotationCount(pieceId);
+    }
 }
@@ -3,6 +3,11 @@ package com.comp2042.logic.bricks;
 
 public interface BrickGenerator {
 
+    // Range and default of the number of upcoming bricks a generator keeps queued
+    int MIN_QUEUE_DEPTH = 1;
+    int MAX_QUEUE_DEPTH = 14;
+    int DEFAULT_QUEUE_DEPTH = 5;
+
     // Gets the next brick to drop
     // Returns a Brick object
     Brick getBrick();
@@ -10,4 +15,31 @@ public interface BrickGenerator {
     // Peeks at the upcoming brick without removing it
     // Returns the next Brick that will be generated
     Brick getNextBrick();
+
+    // Peeks at an upcoming brick in constant time without removing it
+    // param n: the position in the queue, 0 is the brick getNextBrick returns
+    // Returns the brick that getBrick will return after n other bricks
+    Brick peek(int n);
+
+    // Gets how many upcoming bricks are always available to peek
+    int getQueueDepth();
+
+    // Puts a brick back at the front of the queue, used when a placement is undone
+    // param brick: the brick that will be returned by the next getBrick call
+    void pushBack(Brick brick);
+
+    // Copies the ids of the queued bricks, next brick first, into a caller owned buffer
+    // Returns the number of ids written
+    int saveQueue(int[] into);
+
+    // Replaces the queue with bricks written by saveQueue
+    // param from: the brick ids, next brick first
+    // param count: the number of ids to read
+    void restoreQueue(int[] from, int count);
+
+    // Gets the state of the random sequence that deals future bricks
+    long getRandomState();
+
+    // Sets the state of the random sequence, as returned by getRandomState
+    void setRandomState(long state);
 }
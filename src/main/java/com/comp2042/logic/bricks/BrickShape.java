@@ -0,0 +1,171 @@
+// Immutable, precomputed description of one rotation state of a brick
+// Holds the shape matrix together with its bounding box, occupied cells and row masks
+// Instances are shared through BrickShapeRegistry and only expose read-only accessors
+
+package com.comp2042.logic.bricks;
+
+import com.comp2042.logic.MatrixOperations;
+
+import java.util.Arrays;
+
+public final class BrickShape {
+
+    private final int pieceId;
+    private final int rotation;
+    private final int color;
+    private final int[][] matrix;
+    private final long[] rowMasks;
+    private final int[] cellRows;
+    private final int[] cellColumns;
+    private final int[] columnTops;
+    private final int[] columnBottoms;
+    private final int minRow;
+    private final int maxRow;
+    private final int minColumn;
+    private final int maxColumn;
+
+    // Constructs a shape from a brick matrix
+    // param pieceId: the registry id of the brick this shape belongs to
+    // param rotation: the rotation index of this shape
+    // param matrix: the shape matrix, copied so later changes to it have no effect
+    BrickShape(int pieceId, int rotation, int[][] matrix) {
+        this.pieceId = pieceId;
+        this.rotation = rotation;
+        this.matrix = MatrixOperations.copy(matrix);
+        this.rowMasks = new long[matrix.length];
+
+        int count = 0;
+        for (int[] row : matrix) {
+            for (int value : row) {
+                if (value != 0) count++;
+            }
+        }
+        cellRows = new int[count];
+        cellColumns = new int[count];
+        columnTops = new int[matrix[0].length];
+        columnBottoms = new int[matrix[0].length];
+        Arrays.fill(columnTops, -1);
+        Arrays.fill(columnBottoms, -1);
+
+        int cell = 0;
+        int shapeColor = 0;
+        int top = Integer.MAX_VALUE, bottom = Integer.MIN_VALUE;
+        int left = Integer.MAX_VALUE, right = Integer.MIN_VALUE;
+        for (int row = 0; row < matrix.length; row++) {
+            for (int column = 0; column < matrix[row].length; column++) {
+                if (matrix[row][column] != 0) {
+                    shapeColor = matrix[row][column];
+                    rowMasks[row] |= 1L << column;
+                    cellRows[cell] = row;
+                    cellColumns[cell] = column;
+                    cell++;
+                    if (columnTops[column] < 0) {
+                        columnTops[column] = row;
+                    }
+                    columnBottoms[column] = row;
+                    top = Math.min(top, row);
+                    bottom = Math.max(bottom, row);
+                    left = Math.min(left, column);
+                    right = Math.max(right, column);
+                }
+            }
+        }
+        color = shapeColor;
+        minRow = top;
+        maxRow = bottom;
+        minColumn = left;
+        maxColumn = right;
+    }
+
+    // Gets the registry id of the brick this shape belongs to
+    public int getPieceId() {
+        return pieceId;
+    }
+
+    // Gets the rotation index of this shape
+    public int getRotation() {
+        return rotation;
+    }
+
+    // Gets the colour code written to the board for this shape
+    public int getColor() {
+        return color;
+    }
+
+    // Gets a private copy of the shape matrix that the caller may modify
+    public int[][] toMatrix() {
+        return MatrixOperations.copy(matrix);
+    }
+
+    // Gets the colour code of a single cell of the shape matrix
+    // param row: the row inside the shape matrix
+    // param column: the column inside the shape matrix
+    public int getValue(int row, int column) {
+        return matrix[row][column];
+    }
+
+    // Gets the number of rows in the shape matrix
+    public int getRowCount() {
+        return matrix.length;
+    }
+
+    // Gets the number of columns in the shape matrix
+    public int getColumnCount() {
+        return matrix[0].length;
+    }
+
+    // Gets the occupancy mask of one shape row
+    // param row: the row inside the shape matrix
+    // Returns a mask with bit c set when column c of that row is filled
+    public long getRowMask(int row) {
+        return rowMasks[row];
+    }
+
+    // Gets the number of occupied cells
+    public int getCellCount() {
+        return cellRows.length;
+    }
+
+    // Gets the shape row of an occupied cell
+    // param cell: index between 0 and getCellCount() - 1
+    public int getCellRow(int cell) {
+        return cellRows[cell];
+    }
+
+    // Gets the shape column of an occupied cell
+    // param cell: index between 0 and getCellCount() - 1
+    public int getCellColumn(int cell) {
+        return cellColumns[cell];
+    }
+
+    // Gets the highest occupied row of a shape column
+    // param column: the column inside the shape matrix
+    // Returns the row index or -1 if the column is empty
+    public int getColumnTop(int column) {
+        return columnTops[column];
+    }
+
+    // Gets the lowest occupied row of a shape column, the bottom profile used for landing
+    // param column: the column inside the shape matrix
+    // Returns the row index or -1 if the column is empty
+    public int getColumnBottom(int column) {
+        return columnBottoms[column];
+    }
+
+    // Bounding box of the occupied cells inside the shape matrix
+    public int getMinRow() {
+        return minRow;
+    }
+
+    public int getMaxRow() {
+        return maxRow;
+    }
+
+    public int getMinColumn() {
+        return minColumn;
+    }
+
+    public int getMaxColumn() {
+        return maxColumn;
+    }
+}
@@ -0,0 +1,84 @@
+// Shared, read-only table of every brick and rotation
+// Built once when the class is loaded so the game never copies shapes while playing
+
+package com.comp2042.logic.bricks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public final class BrickShapeRegistry {
+
+    public static final int I = 0;
+    public static final int J = 1;
+    public static final int L = 2;
+    public static final int O = 3;
+    public static final int S = 4;
+    public static final int T = 5;
+    public static final int Z = 6;
+
+    // One shared instance of every brick, indexed by piece id
+    private static final Brick[] BRICKS = {
+            new IBrick(), new JBrick(), new LBrick(), new OBrick(), new SBrick(), new TBrick(), new ZBrick()
+    };
+
+    // Shapes indexed by [pieceId][rotation], so lookups on the hot path are plain array reads
+    private static final BrickShape[][] TABLE = new BrickShape[BRICKS.length][];
+    private static final List<List<BrickShape>> SHAPES;
+
+    static {
+        List<List<BrickShape>> shapes = new ArrayList<>(BRICKS.length);
+        for (int pieceId = 0; pieceId < BRICKS.length; pieceId++) {
+            TABLE[pieceId] = build(pieceId, BRICKS[pieceId]);
+            shapes.add(Collections.unmodifiableList(Arrays.asList(TABLE[pieceId].clone())));
+        }
+        SHAPES = Collections.unmodifiableList(shapes);
+    }
+
+    //We don't want to instantiate this utility class
+    private BrickShapeRegistry() {
+
+    }
+
+    // Gets every rotation of a brick
+    // param pieceId: the registry id of the brick
+    // Returns an unmodifiable list of shapes ordered by rotation index
+    public static List<BrickShape> getShapes(int pieceId) {
+        return SHAPES.get(pieceId);
+    }
+
+    // Gets a single rotation of a brick
+    // param pieceId: the registry id of the brick
+    // param rotation: the rotation index
+    public static BrickShape getShape(int pieceId, int rotation) {
+        return TABLE[pieceId][rotation];
+    }
+
+    // Gets the number of rotations of a brick
+    // param pieceId: the registry id of the brick
+    public static int getRotationCount(int pieceId) {
+        return TABLE[pieceId].length;
+    }
+
+    // Gets the shared instance of a brick
+    // param pieceId: the registry id of the brick
+    public static Brick getBrick(int pieceId) {
+        return BRICKS[pieceId];
+    }
+
+    // Gets the number of different bricks in the registry
+    public static int getPieceCount() {
+        return BRICKS.length;
+    }
+
+    // Builds the shapes of one brick from its matrices
+    private static BrickShape[] build(int pieceId, Brick brick) {
+        List<int[][]> matrices = brick.getShapeMatrix();
+        BrickShape[] shapes = new BrickShape[matrices.size()];
+        for (int rotation = 0; rotation < shapes.length; rotation++) {
+            shapes[rotation] = new BrickShape(pieceId, rotation, matrices.get(rotation));
+        }
+        return shapes;
+    }
+}
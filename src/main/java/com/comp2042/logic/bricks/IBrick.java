@@ -5,11 +5,12 @@ import com.comp2042.logic.MatrixOperations;
 import java.util.ArrayList;
 import java.util.List;
 
-final class IBrick implements Brick {
+final class IBrick extends Brick {
 
     private final List<int[][]> brickMatrix = new ArrayList<>();
 
     public IBrick() {
+        super(BrickShapeRegistry.I);
         brickMatrix.add(new int[][]{
                 {0, 0, 0, 0},
                 {1, 1, 1, 1},
@@ -22,6 +23,18 @@ final class IBrick implements Brick {
                 {0, 1, 0, 0},
                 {0, 1, 0, 0}
         });
+        brickMatrix.add(new int[][]{
+                {0, 0, 0, 0},
+                {0, 0, 0, 0},
+                {1, 1, 1, 1},
+                {0, 0, 0, 0}
+        });
+        brickMatrix.add(new int[][]{
+                {0, 0, 1, 0},
+                {0, 0, 1, 0},
+                {0, 0, 1, 0},
+                {0, 0, 1, 0}
+        });
     }
 
     @Override
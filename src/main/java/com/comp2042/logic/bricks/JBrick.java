@@ -5,33 +5,34 @@ import com.comp2042.logic.MatrixOperations;
 import java.util.ArrayList;
 import java.util.List;
 
-final class JBrick implements Brick {
+final class JBrick extends Brick {
 
     private final List<int[][]> brickMatrix = new ArrayList<>();
 
     public JBrick() {
+        super(BrickShapeRegistry.J);
         brickMatrix.add(new int[][]{
-                {0, 0, 0, 0},
+                {2, 0, 0, 0},
                 {2, 2, 2, 0},
-                {0, 0, 2, 0},
+                {0, 0, 0, 0},
                 {0, 0, 0, 0}
         });
         brickMatrix.add(new int[][]{
-                {0, 0, 0, 0},
-                {0, 2, 2, 0},
                 {0, 2, 0, 0},
-                {0, 2, 0, 0}
+                {0, 2, 0, 0},
+                {2, 2, 0, 0},
+                {0, 0, 0, 0}
         });
         brickMatrix.add(new int[][]{
                 {0, 0, 0, 0},
-                {0, 2, 0, 0},
-                {0, 2, 2, 2},
+                {2, 2, 2, 0},
+                {0, 0, 2, 0},
                 {0, 0, 0, 0}
         });
         brickMatrix.add(new int[][]{
-                {0, 0, 2, 0},
-                {0, 0, 2, 0},
                 {0, 2, 2, 0},
+                {0, 2, 0, 0},
+                {0, 2, 0, 0},
                 {0, 0, 0, 0}
         });
     }
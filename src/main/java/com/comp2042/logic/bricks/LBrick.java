@@ -5,27 +5,28 @@ import com.comp2042.logic.MatrixOperations;
 import java.util.ArrayList;
 import java.util.List;
 
-final class LBrick implements Brick {
+final class LBrick extends Brick {
 
     private final List<int[][]> brickMatrix = new ArrayList<>();
 
     public LBrick() {
+        super(BrickShapeRegistry.L);
         brickMatrix.add(new int[][]{
+                {0, 0, 3, 0},
+                {3, 3, 3, 0},
                 {0, 0, 0, 0},
-                {0, 3, 3, 3},
-                {0, 3, 0, 0},
                 {0, 0, 0, 0}
         });
         brickMatrix.add(new int[][]{
-                {0, 0, 0, 0},
-                {0, 3, 3, 0},
-                {0, 0, 3, 0},
-                {0, 0, 3, 0}
+                {3, 3, 0, 0},
+                {0, 3, 0, 0},
+                {0, 3, 0, 0},
+                {0, 0, 0, 0}
         });
         brickMatrix.add(new int[][]{
                 {0, 0, 0, 0},
-                {0, 0, 3, 0},
                 {3, 3, 3, 0},
+                {3, 0, 0, 0},
                 {0, 0, 0, 0}
         });
         brickMatrix.add(new int[][]{
@@ -5,15 +5,16 @@ import com.comp2042.logic.MatrixOperations;
 import java.util.ArrayList;
 import java.util.List;
 
-final class OBrick implements Brick {
+final class OBrick extends Brick {
 
     private final List<int[][]> brickMatrix = new ArrayList<>();
 
     public OBrick() {
+        super(BrickShapeRegistry.O);
         brickMatrix.add(new int[][]{
-                {0, 0, 0, 0},
                 {0, 4, 4, 0},
                 {0, 4, 4, 0},
+                {0, 0, 0, 0},
                 {0, 0, 0, 0}
         });
     }
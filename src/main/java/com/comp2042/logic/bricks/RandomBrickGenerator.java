@@ -1,40 +1,73 @@
+// Uniform brick generator seeded from ThreadLocalRandom unless a seed is given
+// The queue and random sequence are SeededBrickGenerator's with Randomizer.UNIFORM
+
 package com.comp2042.logic.bricks;
 
-import java.util.ArrayDeque;
-import java.util.ArrayList;
-import java.util.Deque;
-import java.util.List;
 import java.util.concurrent.ThreadLocalRandom;
 
 public class RandomBrickGenerator implements BrickGenerator {
 
-    private final List<Brick> brickList;
-
-    private final Deque<Brick> nextBricks = new ArrayDeque<>();
+    private final SeededBrickGenerator generator;
 
     public RandomBrickGenerator() {
-        brickList = new ArrayList<>();
-        brickList.add(new IBrick());
-        brickList.add(new JBrick());
-        brickList.add(new LBrick());
-        brickList.add(new OBrick());
-        brickList.add(new SBrick());
-        brickList.add(new TBrick());
-        brickList.add(new ZBrick());
-        nextBricks.add(brickList.get(ThreadLocalRandom.current().nextInt(brickList.size())));
-        nextBricks.add(brickList.get(ThreadLocalRandom.current().nextInt(brickList.size())));
+        this(ThreadLocalRandom.current().nextLong());
+    }
+
+    // Constructs a generator that always deals the same sequence for the same seed
+    // param seed: the seed of the random sequence
+    public RandomBrickGenerator(long seed) {
+        this(seed, DEFAULT_QUEUE_DEPTH);
+    }
+
+    // Constructs a seeded generator that keeps depth upcoming bricks available to peek
+    // param seed: the seed of the random sequence
+    // param depth: the queue depth, between MIN_QUEUE_DEPTH and MAX_QUEUE_DEPTH
+    public RandomBrickGenerator(long seed, int depth) {
+        generator = new SeededBrickGenerator(Randomizer.UNIFORM, seed, depth);
     }
 
     @Override
     public Brick getBrick() {
-        if (nextBricks.size() <= 1) {
-            nextBricks.add(brickList.get(ThreadLocalRandom.current().nextInt(brickList.size())));
-        }
-        return nextBricks.poll();
+        return generator.getBrick();
     }
 
     @Override
     public Brick getNextBrick() {
-        return nextBricks.peek();
+        return generator.getNextBrick();
+    }
+
+    @Override
+    public Brick peek(int n) {
+        return generator.peek(n);
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return generator.getQueueDepth();
+    }
+
+    @Override
+    public void pushBack(Brick brick) {
+        generator.pushBack(brick);
+    }
+
+    @Override
+    public int saveQueue(int[] into) {
+        return generator.saveQueue(into);
+    }
+
+    @Override
+    public void restoreQueue(int[] from, int count) {
+        generator.restoreQueue(from, count);
+    }
+
+    @Override
+    public long getRandomState() {
+        return generator.getRandomState();
+    }
+
+    @Override
+    public void setRandomState(long state) {
+        generator.setRandomState(state);
     }
 }
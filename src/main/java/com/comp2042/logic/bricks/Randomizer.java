@@ -0,0 +1,18 @@
+// The rules a SeededBrickGenerator uses to deal bricks from its random sequence
+
+package com.comp2042.logic.bricks;
+
+public enum Randomizer {
+
+    // Every brick is picked independently with equal chance
+    UNIFORM,
+
+    // Each group of 7 bricks holds every brick once, in shuffled order
+    BAG_7,
+
+    // Each group of 14 bricks holds every brick twice, in shuffled order
+    BAG_14,
+
+    // Rerolls bricks found in the last 4 dealt, up to 6 times, as in the TGM series
+    TGM_HISTORY
+}
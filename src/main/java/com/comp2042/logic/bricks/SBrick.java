@@ -5,15 +5,16 @@ import com.comp2042.logic.MatrixOperations;
 import java.util.ArrayList;
 import java.util.List;
 
-final class SBrick implements Brick {
+final class SBrick extends Brick {
 
     private final List<int[][]> brickMatrix = new ArrayList<>();
 
     public SBrick() {
+        super(BrickShapeRegistry.S);
         brickMatrix.add(new int[][]{
-                {0, 0, 0, 0},
                 {0, 5, 5, 0},
                 {5, 5, 0, 0},
+                {0, 0, 0, 0},
                 {0, 0, 0, 0}
         });
         brickMatrix.add(new int[][]{
@@ -22,6 +23,18 @@ final class SBrick implements Brick {
                 {0, 5, 0, 0},
                 {0, 0, 0, 0}
         });
+        brickMatrix.add(new int[][]{
+                {0, 0, 0, 0},
+                {0, 5, 5, 0},
+                {5, 5, 0, 0},
+                {0, 0, 0, 0}
+        });
+        brickMatrix.add(new int[][]{
+                {0, 5, 0, 0},
+                {0, 5, 5, 0},
+                {0, 0, 5, 0},
+                {0, 0, 0, 0}
+        });
     }
 
     @Override
@@ -0,0 +1,283 @@
+// Brick generator driven by an explicit seed, so every game it deals can be replayed
+// The random sequence follows SplittableRandom: split() hands out an independent generator whose
+// bricks are fully determined by this one's seed, which gives parallel simulations repeatable streams
+// Bricks are dealt a whole bag at a time into a preallocated ring of ids, so dealing never allocates
+
+package com.comp2042.logic.bricks;
+
+public final class SeededBrickGenerator implements BrickGenerator {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    // Room for a full undo history of bricks pushed back on top of one refill
+    private static final int QUEUE_CAPACITY = 256;
+    private static final int QUEUE_MASK = QUEUE_CAPACITY - 1;
+
+    // The TGM history length and rerolls, the queue always keeps at least HISTORY_SIZE bricks
+    // so the newest dealt bricks, which form the history, can be read back after a restore
+    private static final int HISTORY_SIZE = 4;
+    private static final int TGM_ROLLS = 6;
+    private static final int[] TGM_START_HISTORY = {
+            BrickShapeRegistry.Z, BrickShapeRegistry.S, BrickShapeRegistry.S, BrickShapeRegistry.Z
+    };
+
+    private final Randomizer randomizer;
+    private final int depth;
+    private final long seed;
+    private final long gamma;
+    private final Brick[] bricks;
+    private final int[] queue = new int[QUEUE_CAPACITY];
+    private final int[] bag;
+    private final int[] history = new int[HISTORY_SIZE];
+    private int head;
+    private int size;
+    private int historyNext;
+    private boolean firstBrick = true;
+    private long randomState;
+
+    // Constructs a 7-bag generator
+    // param seed: the seed of the random sequence
+    public SeededBrickGenerator(long seed) {
+        this(Randomizer.BAG_7, seed);
+    }
+
+    // Constructs a generator that always deals the same sequence for the same randomizer and seed
+    // param randomizer: the rules used to pick bricks
+    // param seed: the seed of the random sequence
+    public SeededBrickGenerator(Randomizer randomizer, long seed) {
+        this(randomizer, seed, DEFAULT_QUEUE_DEPTH);
+    }
+
+    // Constructs a seeded generator that keeps depth upcoming bricks available to peek
+    // param randomizer: the rules used to pick bricks
+    // param seed: the seed of the random sequence
+    // param depth: the queue depth, between MIN_QUEUE_DEPTH and MAX_QUEUE_DEPTH
+    public SeededBrickGenerator(Randomizer randomizer, long seed, int depth) {
+        this(randomizer, seed, GOLDEN_GAMMA, depth);
+    }
+
+    private SeededBrickGenerator(Randomizer randomizer, long seed, long gamma, int depth) {
+        if (randomizer == null) {
+            throw new IllegalArgumentException("Randomizer must not be null");
+        }
+        if (depth < MIN_QUEUE_DEPTH || depth > MAX_QUEUE_DEPTH) {
+            throw new IllegalArgumentException("Queue depth must be between " + MIN_QUEUE_DEPTH
+                    + " and " + MAX_QUEUE_DEPTH);
+        }
+        this.randomizer = randomizer;
+        this.depth = depth;
+        this.seed = seed;
+        this.gamma = gamma;
+        this.randomState = seed;
+
+        int pieces = BrickShapeRegistry.getPieceCount();
+        bricks = new Brick[BrickShapeRegistry.getPieceCount()];
+        for (int pieceId = 0; pieceId < bricks.length; pieceId++) {
+            bricks[pieceId] = BrickShapeRegistry.getBrick(pieceId);
+        }
+        bag = new int[randomizer == Randomizer.BAG_14 ? pieces * 2 : pieces];
+        System.arraycopy(TGM_START_HISTORY, 0, history, 0, HISTORY_SIZE);
+        refill(depth);
+    }
+
+    // Creates a generator with an independent random sequence and the same randomizer and depth
+    // The new sequence depends only on this generator's state, so a fixed seed gives fixed splits
+    // Returns the new generator
+    public SeededBrickGenerator split() {
+        long childSeed = mix64(nextSeed());
+        long childGamma = mixGamma(nextSeed());
+        return new SeededBrickGenerator(randomizer, childSeed, childGamma, depth);
+    }
+
+    // Gets the randomizer used to pick bricks
+    public Randomizer getRandomizer() {
+        return randomizer;
+    }
+
+    // Gets the seed this generator was created with
+    public long getSeed() {
+        return seed;
+    }
+
+    @Override
+    public Brick getBrick() {
+        return bricks[nextPieceId()];
+    }
+
+    @Override
+    public Brick getNextBrick() {
+        return peek(0);
+    }
+
+    // Refilling is left until the queue is read, so restoreQueue and setRandomState can come in any order
+    // Positions below the queue depth are always dealt already, deeper ones are dealt on demand
+    @Override
+    public Brick peek(int n) {
+        if (n < 0 || n >= QUEUE_CAPACITY - bag.length) {
+            throw new IndexOutOfBoundsException("Queue position " + n + " is not available");
+        }
+        if (size <= Math.max(n, HISTORY_SIZE)) {
+            refill(n);
+        }
+        return bricks[queue[(head + n) & QUEUE_MASK]];
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return depth;
+    }
+
+    // Deals the next bricks as registry ids into a caller owned buffer
+    // Uses the same sequence as getBrick, for simulations that never need Brick objects
+    // param into: the buffer to write to
+    // param offset: the first index to write
+    // param count: the number of bricks to deal
+    public void deal(int[] into, int offset, int count) {
+        for (int i = 0; i < count; i++) {
+            into[offset + i] = nextPieceId();
+        }
+    }
+
+    @Override
+    public void pushBack(Brick brick) {
+        if (size == QUEUE_CAPACITY) {
+            throw new IllegalStateException("Brick queue is full");
+        }
+        head = (head - 1) & QUEUE_MASK;
+        queue[head] = brick.getPieceId();
+        size++;
+    }
+
+    @Override
+    public int saveQueue(int[] into) {
+        for (int i = 0; i < size; i++) {
+            into[i] = queue[(head + i) & QUEUE_MASK];
+        }
+        return size;
+    }
+
+    @Override
+    public void restoreQueue(int[] from, int count) {
+        if (count > QUEUE_CAPACITY) {
+            throw new IllegalArgumentException("Queue holds at most " + QUEUE_CAPACITY + " bricks");
+        }
+        System.arraycopy(from, 0, queue, 0, count);
+        head = 0;
+        size = count;
+
+        // The newest queued bricks are the last ones dealt, which is exactly the TGM history
+        if (count >= HISTORY_SIZE) {
+            for (int i = 0; i < HISTORY_SIZE; i++) {
+                history[i] = from[count - HISTORY_SIZE + i];
+            }
+            historyNext = 0;
+            firstBrick = false;
+        }
+    }
+
+    @Override
+    public long getRandomState() {
+        return randomState;
+    }
+
+    @Override
+    public void setRandomState(long state) {
+        randomState = state;
+    }
+
+    // Takes the id at the front of the queue, refilling first so the history stays queued
+    private int nextPieceId() {
+        if (size <= Math.max(depth, HISTORY_SIZE)) {
+            refill(depth);
+        }
+        int pieceId = queue[head];
+        head = (head + 1) & QUEUE_MASK;
+        size--;
+        return pieceId;
+    }
+
+    // Deals groups of bricks to the back of the queue until position n and the history are queued
+    // Bags are dealt whole, so the random state always sits on a bag boundary
+    private void refill(int n) {
+        while (size <= Math.max(n, HISTORY_SIZE)) {
+            switch (randomizer) {
+                case UNIFORM -> append(nextInt(bricks.length));
+                case BAG_7, BAG_14 -> appendBag();
+                case TGM_HISTORY -> append(nextHistoryPiece());
+            }
+        }
+    }
+
+    private void appendBag() {
+        for (int i = 0; i < bag.length; i++) {
+            bag[i] = i % bricks.length;
+        }
+        // Fisher-Yates shuffle
+        for (int i = bag.length - 1; i > 0; i--) {
+            int j = nextInt(i + 1);
+            int swap = bag[i];
+            bag[i] = bag[j];
+            bag[j] = swap;
+        }
+        for (int pieceId : bag) {
+            append(pieceId);
+        }
+    }
+
+    // Picks a brick, rerolling while it is in the history
+    // The first brick of a game is never S, Z or O
+    private int nextHistoryPiece() {
+        int pieceId;
+        if (firstBrick) {
+            do {
+                pieceId = nextInt(bricks.length);
+            } while (pieceId == BrickShapeRegistry.S || pieceId == BrickShapeRegistry.Z
+                    || pieceId == BrickShapeRegistry.O);
+            firstBrick = false;
+        } else {
+            pieceId = nextInt(bricks.length);
+            for (int roll = 1; roll < TGM_ROLLS && inHistory(pieceId); roll++) {
+                pieceId = nextInt(bricks.length);
+            }
+        }
+        history[historyNext] = pieceId;
+        historyNext = (historyNext + 1) % HISTORY_SIZE;
+        return pieceId;
+    }
+
+    private boolean inHistory(int pieceId) {
+        for (int id : history) {
+            if (id == pieceId) return true;
+        }
+        return false;
+    }
+
+    private void append(int pieceId) {
+        queue[(head + size) & QUEUE_MASK] = pieceId;
+        size++;
+    }
+
+    // SplittableRandom step reduced to the range 0 to bound - 1
+    private int nextInt(int bound) {
+        return (int) (((mix64(nextSeed()) >>> 32) * bound) >>> 32);
+    }
+
+    private long nextSeed() {
+        return randomState += gamma;
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // Derives an odd gamma with enough bit transitions for a split stream
+    private static long mixGamma(long z) {
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        z = (z ^ (z >>> 33)) | 1L;
+        int transitions = Long.bitCount(z ^ (z >>> 1));
+        return (transitions < 24) ? z ^ 0xAAAAAAAAAAAAAAAAL : z;
+    }
+}
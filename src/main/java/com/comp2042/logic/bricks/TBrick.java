@@ -5,32 +5,33 @@ import com.comp2042.logic.MatrixOperations;
 import java.util.ArrayList;
 import java.util.List;
 
-final class TBrick implements Brick {
+final class TBrick extends Brick {
 
     private final List<int[][]> brickMatrix = new ArrayList<>();
 
     public TBrick() {
+        super(BrickShapeRegistry.T);
         brickMatrix.add(new int[][]{
-                {0, 0, 0, 0},
-                {6, 6, 6, 0},
                 {0, 6, 0, 0},
+                {6, 6, 6, 0},
+                {0, 0, 0, 0},
                 {0, 0, 0, 0}
         });
         brickMatrix.add(new int[][]{
                 {0, 6, 0, 0},
-                {0, 6, 6, 0},
+                {6, 6, 0, 0},
                 {0, 6, 0, 0},
                 {0, 0, 0, 0}
         });
         brickMatrix.add(new int[][]{
-                {0, 6, 0, 0},
-                {6, 6, 6, 0},
                 {0, 0, 0, 0},
+                {6, 6, 6, 0},
+                {0, 6, 0, 0},
                 {0, 0, 0, 0}
         });
         brickMatrix.add(new int[][]{
                 {0, 6, 0, 0},
-                {6, 6, 0, 0},
+                {0, 6, 6, 0},
                 {0, 6, 0, 0},
                 {0, 0, 0, 0}
         });
@@ -0,0 +1,109 @@
+// Precomputed SRS wall kick offsets, plus a 180 degree kick table
+// Offsets are stored per brick and rotation transition in board coordinates (y grows downwards),
+// so a rotation attempt is a short loop of collision tests with no lookups or copies
+
+package com.comp2042.logic.bricks;
+
+public final class WallKicks {
+
+    // Brick rotation indices step counterclockwise, SRS states are 0, R, 2, L
+    private static final int[] SRS_STATE = {0, 3, 2, 1};
+
+    // SRS tables as {x, y} pairs with y pointing up, indexed [from state][to state]
+    private static final int[][][] JLSTZ_KICKS = new int[4][4][];
+    private static final int[][][] I_KICKS = new int[4][4][];
+    private static final int[][][] HALF_TURN_KICKS = new int[4][4][];
+    private static final int[] NO_KICK = {0, 0};
+
+    static {
+        JLSTZ_KICKS[0][1] = new int[]{0, 0, -1, 0, -1, 1, 0, -2, -1, -2};
+        JLSTZ_KICKS[1][0] = new int[]{0, 0, 1, 0, 1, -1, 0, 2, 1, 2};
+        JLSTZ_KICKS[1][2] = new int[]{0, 0, 1, 0, 1, -1, 0, 2, 1, 2};
+        JLSTZ_KICKS[2][1] = new int[]{0, 0, -1, 0, -1, 1, 0, -2, -1, -2};
+        JLSTZ_KICKS[2][3] = new int[]{0, 0, 1, 0, 1, 1, 0, -2, 1, -2};
+        JLSTZ_KICKS[3][2] = new int[]{0, 0, -1, 0, -1, -1, 0, 2, -1, 2};
+        JLSTZ_KICKS[3][0] = new int[]{0, 0, -1, 0, -1, -1, 0, 2, -1, 2};
+        JLSTZ_KICKS[0][3] = new int[]{0, 0, 1, 0, 1, 1, 0, -2, 1, -2};
+
+        I_KICKS[0][1] = new int[]{0, 0, -2, 0, 1, 0, -2, -1, 1, 2};
+        I_KICKS[1][0] = new int[]{0, 0, 2, 0, -1, 0, 2, 1, -1, -2};
+        I_KICKS[1][2] = new int[]{0, 0, -1, 0, 2, 0, -1, 2, 2, -1};
+        I_KICKS[2][1] = new int[]{0, 0, 1, 0, -2, 0, 1, -2, -2, 1};
+        I_KICKS[2][3] = new int[]{0, 0, 2, 0, -1, 0, 2, 1, -1, -2};
+        I_KICKS[3][2] = new int[]{0, 0, -2, 0, 1, 0, -2, -1, 1, 2};
+        I_KICKS[3][0] = new int[]{0, 0, 1, 0, -2, 0, 1, -2, -2, 1};
+        I_KICKS[0][3] = new int[]{0, 0, -1, 0, 2, 0, -1, 2, 2, -1};
+
+        HALF_TURN_KICKS[0][2] = new int[]{0, 0, 0, 1, 1, 1, -1, 1, 1, 0, -1, 0};
+        HALF_TURN_KICKS[2][0] = new int[]{0, 0, 0, -1, -1, -1, 1, -1, -1, 0, 1, 0};
+        HALF_TURN_KICKS[1][3] = new int[]{0, 0, 1, 0, 1, 2, 1, 1, 0, 2, 0, 1};
+        HALF_TURN_KICKS[3][1] = new int[]{0, 0, -1, 0, -1, 2, -1, 1, 0, 2, 0, 1};
+    }
+
+    // Board space offsets, indexed [pieceId][from][to], x and y interleaved
+    private static final int[][][][] KICKS = build();
+
+    //We don't want to instantiate this utility class
+    private WallKicks() {
+
+    }
+
+    // Gets the number of positions to try for a rotation, the first one is always unkicked
+    // param pieceId: the registry id of the brick
+    // param from: the current rotation index
+    // param to: the target rotation index
+    public static int getKickCount(int pieceId, int from, int to) {
+        return KICKS[pieceId][from][to].length / 2;
+    }
+
+    // Gets the column offset of one kick
+    public static int getKickX(int pieceId, int from, int to, int kick) {
+        return KICKS[pieceId][from][to][kick * 2];
+    }
+
+    // Gets the row offset of one kick, positive values move the brick down
+    public static int getKickY(int pieceId, int from, int to, int kick) {
+        return KICKS[pieceId][from][to][kick * 2 + 1];
+    }
+
+    // Converts the SRS tables to board space for every brick and rotation pair
+    private static int[][][][] build() {
+        int pieces = BrickShapeRegistry.getPieceCount();
+        int[][][][] kicks = new int[pieces][][][];
+        for (int pieceId = 0; pieceId < pieces; pieceId++) {
+            int rotations = BrickShapeRegistry.getShapes(pieceId).size();
+            kicks[pieceId] = new int[rotations][rotations][];
+            for (int from = 0; from < rotations; from++) {
+                for (int to = 0; to < rotations; to++) {
+                    kicks[pieceId][from][to] = toBoardSpace(tableFor(pieceId, from, to, rotations));
+                }
+            }
+        }
+        return kicks;
+    }
+
+    private static int[] tableFor(int pieceId, int from, int to, int rotations) {
+        if (rotations != SRS_STATE.length) {
+            return NO_KICK;
+        }
+        int srsFrom = SRS_STATE[from];
+        int srsTo = SRS_STATE[to];
+        int[] table;
+        if ((srsFrom + 2) % 4 == srsTo) {
+            table = HALF_TURN_KICKS[srsFrom][srsTo];
+        } else if (pieceId == BrickShapeRegistry.I) {
+            table = I_KICKS[srsFrom][srsTo];
+        } else {
+            table = JLSTZ_KICKS[srsFrom][srsTo];
+        }
+        return table != null ? table : NO_KICK;
+    }
+
+    private static int[] toBoardSpace(int[] table) {
+        int[] offsets = table.clone();
+        for (int i = 1; i < offsets.length; i += 2) {
+            offsets[i] = -offsets[i];
+        }
+        return offsets;
+    }
+}
@@ -5,15 +5,16 @@ import com.comp2042.logic.MatrixOperations;
 import java.util.ArrayList;
 import java.util.List;
 
-final class ZBrick implements Brick {
+final class ZBrick extends Brick {
 
     private final List<int[][]> brickMatrix = new ArrayList<>();
 
     public ZBrick() {
+        super(BrickShapeRegistry.Z);
         brickMatrix.add(new int[][]{
-                {0, 0, 0, 0},
                 {7, 7, 0, 0},
                 {0, 7, 7, 0},
+                {0, 0, 0, 0},
                 {0, 0, 0, 0}
         });
         brickMatrix.add(new int[][]{
@@ -22,6 +23,18 @@ final class ZBrick implements Brick {
                 {7, 0, 0, 0},
                 {0, 0, 0, 0}
         });
+        brickMatrix.add(new int[][]{
+                {0, 0, 0, 0},
+                {7, 7, 0, 0},
+                {0, 7, 7, 0},
+                {0, 0, 0, 0}
+        });
+        brickMatrix.add(new int[][]{
+                {0, 0, 7, 0},
+                {0, 7, 7, 0},
+                {0, 7, 0, 0},
+                {0, 0, 0, 0}
+        });
     }
 
     @Override
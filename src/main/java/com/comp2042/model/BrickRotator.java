@@ -1,20 +1,44 @@
 package com.comp2042.model;
 
 import com.comp2042.logic.bricks.Brick;
+import com.comp2042.logic.bricks.BrickShape;
+import com.comp2042.logic.bricks.BrickShapeRegistry;
 
 public class BrickRotator {
 
     private Brick brick;
+    // Cached from the brick so rotating is an index into the registry's shape table
+    private int pieceId;
+    private int rotationCount = 1;
     private int currentShape = 0;
 
-    public NextShapeInfo getNextShape() {
-        int nextShape = currentShape;
-        nextShape = (++nextShape) % brick.getShapeMatrix().size();
-        return new NextShapeInfo(brick.getShapeMatrix().get(nextShape), nextShape);
+    public int[][] getCurrentShape() {
+        return getCurrentBrickShape().toMatrix();
     }
 
-    public int[][] getCurrentShape() {
-        return brick.getShapeMatrix().get(currentShape);
+    public BrickShape getCurrentBrickShape() {
+        return BrickShapeRegistry.getShape(pieceId, currentShape);
+    }
+
+    public BrickShape getBrickShape(int rotation) {
+        return BrickShapeRegistry.getShape(pieceId, rotation);
+    }
+
+    public Brick getBrick() {
+        return brick;
+    }
+
+    public int getNextRotation() {
+        return (currentShape + 1) % rotationCount;
+    }
+
+    public int getCurrentRotation() {
+        return currentShape;
+    }
+
+    // Gets the number of rotations of the current brick
+    public int getRotationCount() {
+        return rotationCount;
     }
 
     public void setCurrentShape(int currentShape) {
@@ -23,6 +47,8 @@ public class BrickRotator {
 
     public void setBrick(Brick brick) {
         this.brick = brick;
+        this.pieceId = brick.getPieceId();
+        this.rotationCount = brick.getRotationCount();
         currentShape = 0;
     }
 
@@ -0,0 +1,6 @@
+package com.comp2042.model;
+
+// Kind of spin a brick was locked with
+public enum SpinType {
+    NONE, MINI, FULL
+}
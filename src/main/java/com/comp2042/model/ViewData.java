@@ -1,40 +1,44 @@
+// Read-only view of a board's falling, next and held bricks, as handed to renderers and bots
+// It is not a snapshot: a board keeps one instance and refreshes it in place on every getViewData call,
+// so read what is needed right away and copy any value that has to outlive the next move
+
 package com.comp2042.model;
 
-import com.comp2042.logic.MatrixOperations;
+import com.comp2042.logic.bricks.BrickShape;
 
-public final class ViewData {
+public interface ViewData {
 
-    private final int[][] brickData;
-    private final int xPosition;
-    private final int yPosition;
-    private final int[][] nextBrickData;
-    private final int[][] holdBrickData;
+    // Gets how many upcoming bricks the preview holds
+    int getNextCount();
 
-    public ViewData(int[][] brickData, int xPosition, int yPosition, int[][] nextBrickData, int[][] holdBrickData) {
-        this.brickData = brickData;
-        this.xPosition = xPosition;
-        this.yPosition = yPosition;
-        this.nextBrickData = nextBrickData;
-        this.holdBrickData = holdBrickData;
-    }
+    // Gets one upcoming brick of the preview, index 0 is the next brick
+    BrickShape getNextShape(int index);
 
-    public int[][] getBrickData() {
-        return MatrixOperations.copy(brickData);
-    }
+    // Shape accessors, the shapes are shared immutable registry entries so no copy is needed
+    BrickShape getBrickShape();
 
-    public int getxPosition() {
-        return xPosition;
-    }
+    BrickShape getNextBrickShape();
+
+    // Returns null if no brick is held
+    BrickShape getHoldBrickShape();
+
+    int getxPosition();
+
+    int getyPosition();
+
+    // Row the brick would land on if dropped now, the ghost shares the brick's x position
+    int getGhostYPosition();
 
-    public int getyPosition() {
-        return yPosition;
+    // Matrix accessors return a private copy the caller may modify
+    default int[][] getBrickData() {
+        return getBrickShape() != null ? getBrickShape().toMatrix() : null;
     }
 
-    public int[][] getNextBrickData() {
-        return MatrixOperations.copy(nextBrickData);
+    default int[][] getNextBrickData() {
+        return getNextBrickShape() != null ? getNextBrickShape().toMatrix() : null;
     }
 
-    public int[][] getHoldBrickData() {
-        return MatrixOperations.copy(holdBrickData);
+    default int[][] getHoldBrickData() {
+        return getHoldBrickShape() != null ? getHoldBrickShape().toMatrix() : null;
     }
 }
@@ -1,14 +1,30 @@
 package com.comp2042.model.events;
 
 public final class MoveEvent {
+    // One shared instance per event type and source, so input handling never allocates
+    private static final MoveEvent[][] EVENTS = new MoveEvent[EventType.values().length][EventSource.values().length];
+
+    static {
+        for (EventType type : EventType.values()) {
+            for (EventSource source : EventSource.values()) {
+                EVENTS[type.ordinal()][source.ordinal()] = new MoveEvent(type, source);
+            }
+        }
+    }
+
     private final EventType eventType;
     private final EventSource eventSource;
 
-    public MoveEvent(EventType eventType, EventSource eventSource) {
+    private MoveEvent(EventType eventType, EventSource eventSource) {
         this.eventType = eventType;
         this.eventSource = eventSource;
     }
 
+    // Gets the canonical event for a type and source
+    public static MoveEvent of(EventType eventType, EventSource eventSource) {
+        return EVENTS[eventType.ordinal()][eventSource.ordinal()];
+    }
+
     public EventType getEventType() {
         return eventType;
     }
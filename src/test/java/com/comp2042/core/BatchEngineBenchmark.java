@@ -0,0 +1,137 @@
+// JMH comparison of BatchEngine against looping over the same number of SimpleBoards
+// Every invocation places one brick on each board with a random rotation and column, scores it with
+// Score.scoreLock and restarts boards that topped out, so both sides do the same work per placement
+// The placements counter is the boards per second figure; each thread has its own boards, so running
+// with one thread measures one core and -t max measures every core
+//
+// One core:   mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+//                 -Dexec.args="-cp %classpath org.openjdk.jmh.Main BatchEngineBenchmark"
+// All cores:  the same with "... BatchEngineBenchmark -t max"
+// Vector API: build with -Pvector and add
+//                 -p kernel=vector -jvmArgsAppend '--add-modules jdk.incubator.vector'
+
+package com.comp2042.core;
+
+import com.comp2042.logic.bricks.Randomizer;
+import com.comp2042.logic.bricks.SeededBrickGenerator;
+import com.comp2042.model.SpinType;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BatchEngineBenchmark {
+
+    private static final int WIDTH = 10;
+    private static final int HEIGHT = 20;
+
+    @Param({"64", "1024"})
+    public int boards;
+
+    @Param({"scalar"})
+    public String kernel;
+
+    private SimpleBoard[] simpleBoards;
+    private Score[] scores;
+    private BatchEngine engine;
+    private int[] rotations;
+    private int[] columns;
+    private int[] results;
+    private long random;
+
+    // Counts placed bricks, reported by JMH per second
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Placements {
+        public long placements;
+
+        @Setup(Level.Iteration)
+        public void clear() {
+            placements = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        random = Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L | 1;
+        SeededBrickGenerator boardBricks = new SeededBrickGenerator(Randomizer.BAG_7, random);
+        SeededBrickGenerator batchBricks = new SeededBrickGenerator(Randomizer.BAG_7, random);
+        simpleBoards = new SimpleBoard[boards];
+        scores = new Score[boards];
+        SeededBrickGenerator[] generators = new SeededBrickGenerator[boards];
+        for (int i = 0; i < boards; i++) {
+            scores[i] = new Score();
+            scores[i].setLogging(false);
+            simpleBoards[i] = new SimpleBoard(WIDTH, HEIGHT, boardBricks.split());
+            simpleBoards[i].setLogging(false);
+            simpleBoards[i].setScore(scores[i]);
+            simpleBoards[i].newGame();
+            generators[i] = batchBricks.split();
+        }
+        engine = new BatchEngine(WIDTH, HEIGHT, generators, kernel.equals("vector"));
+        if (kernel.equals("vector") && !engine.isVectorized()) {
+            throw new IllegalStateException("The vector kernel needs -Pvector and --add-modules jdk.incubator.vector");
+        }
+        rotations = new int[boards];
+        columns = new int[boards];
+        results = new int[boards];
+    }
+
+    @Benchmark
+    public void simpleBoards(Placements counter) {
+        nextMoves();
+        for (int i = 0; i < boards; i++) {
+            SimpleBoard board = simpleBoards[i];
+            int result = board.placeBrick(rotations[i], columns[i]);
+            if (!Placement.isValid(result)) continue;
+            counter.placements++;
+            scores[i].scoreLock(Placement.getDropDistance(result), Placement.getLinesCleared(result),
+                    Placement.isPerfectClear(result), SpinType.NONE, Placement.getPieceId(result));
+            if (Placement.isTopOut(result)) {
+                board.newGame();
+                scores[i].reset();
+            }
+        }
+    }
+
+    @Benchmark
+    public void batchEngine(Placements counter) {
+        nextMoves();
+        counter.placements += engine.step(rotations, columns, results);
+        for (int i = 0; i < boards; i++) {
+            if (engine.isToppedOut(i)) {
+                engine.resetBoard(i);
+            }
+        }
+    }
+
+    // Picks a rotation and a column for every board, some of them out of range like a careless policy
+    private void nextMoves() {
+        long x = random;
+        for (int i = 0; i < boards; i++) {
+            x ^= x << 13;
+            x ^= x >>> 7;
+            x ^= x << 17;
+            rotations[i] = (int) (x & 3);
+            columns[i] = (int) ((x >>> 8) % (WIDTH - 1)) - 1;
+        }
+        random = x;
+    }
+}
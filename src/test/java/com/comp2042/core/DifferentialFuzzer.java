@@ -0,0 +1,751 @@
+// Differential fuzzer that checks the engines against a naive board and the Score rules
+// Seeded random action sequences are played on SimpleBoard and on each candidate engine, and
+// the board, falling brick, hold and every scoring value are compared after every step
+// Every game also shadows its locks on a ReferenceBoard, a plain int[][] with per-cell collision and
+// copy-and-compact clearing: moves, drops and placements must agree with it, clears are scored from it,
+// and the cells, fill counts, column heights, hash and features of each board are checked against it
+// Sequences run in parallel on every core, and the first mismatch is shrunk to a short reproducer
+// that can be replayed on its own with the printed seed
+//
+// Driven by DifferentialFuzzerTest, which reads its budget and settings from system properties
+// A mismatch fails the test with the reproducer as its message
+
+package com.comp2042.core;
+
+import com.comp2042.logic.bricks.Brick;
+import com.comp2042.logic.bricks.BrickGenerator;
+import com.comp2042.logic.bricks.BrickShape;
+import com.comp2042.logic.bricks.BrickShapeRegistry;
+import com.comp2042.logic.bricks.Randomizer;
+import com.comp2042.logic.bricks.SeededBrickGenerator;
+import com.comp2042.logic.bricks.WallKicks;
+import com.comp2042.model.ClearRow;
+import com.comp2042.model.SpinType;
+import com.comp2042.model.ViewData;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+final class DifferentialFuzzer {
+
+    // Actions, packed as op | rotation << OP_BITS | (column + COLUMN_BIAS) << (OP_BITS + ROTATION_BITS)
+    static final int LEFT = 0;
+    static final int RIGHT = 1;
+    static final int ROTATE_CW = 2;
+    static final int ROTATE_CCW = 3;
+    static final int ROTATE_180 = 4;
+    static final int SOFT_DROP = 5;
+    static final int HARD_DROP = 6;
+    static final int HOLD = 7;
+    static final int PLACE = 8;
+    static final int UNDO = 9;
+    private static final String[] OP_NAMES = {
+            "LEFT", "RIGHT", "CW", "CCW", "180", "SOFT", "HARD", "HOLD", "PLACE", "UNDO"
+    };
+    private static final int OP_BITS = 4;
+    private static final int ROTATION_BITS = 4;
+    private static final int COLUMN_BIAS = 8;
+
+    // Sequences per engine in each round, also the lanes per BatchEngine so the kernel works on full vectors
+    private static final int BATCH_LANES = 64;
+    private static final long REPORT_INTERVAL_MS = 10_000;
+
+    // An engine built from SimpleBoard that takes the same actions as the reference
+    private interface BoardFactory {
+        SimpleBoard create(int width, int height, BrickGenerator generator);
+    }
+
+    private static final Map<String, BoardFactory> BOARD_ENGINES = Map.of("bitboard", BitboardBoard::new);
+    static final String BATCH_ENGINE = "batch";
+    static final String VECTOR_ENGINE = "vector";
+
+    private final int width;
+    private final int height;
+    private final int length;
+
+    // Constructs a fuzzer for one board size and sequence length
+    // param width: the number of columns, at most BatchEngine.MAX_WIDTH when the batch engine is fuzzed
+    // param height: the number of rows
+    // param length: the number of actions in each sequence
+    DifferentialFuzzer(int width, int height, int length) {
+        GameController.checkBoardSize(width, height);
+        this.width = width;
+        this.height = height;
+        this.length = length;
+    }
+
+    // Fuzzes the engines until the step budget is used or one of them disagrees with the reference
+    // param fuzzers: the board sizes to take turns with
+    // param engines: the engine names to check
+    // param totalSteps: the number of steps to play, counted once per engine
+    // param rootSeed: the seed all sequence seeds are derived from
+    // param threads: the number of worker threads
+    // param report: where progress is printed
+    // Returns the reproducer of the first mismatch, or null if every step matched
+    static String run(List<DifferentialFuzzer> fuzzers, List<String> engines, long totalSteps, long rootSeed,
+                      int threads, PrintStream report) throws Exception {
+        checkEngines(engines);
+        AtomicLong nextSequence = new AtomicLong();
+        AtomicLong nextRound = new AtomicLong();
+        AtomicLong stepsDone = new AtomicLong();
+        AtomicReference<String> failure = new AtomicReference<>();
+        long start = System.nanoTime();
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(pool.submit(() -> {
+                long[] seeds = new long[BATCH_LANES];
+                while (failure.get() == null && stepsDone.get() < totalSteps) {
+                    DifferentialFuzzer fuzzer = fuzzers.get((int) (nextRound.getAndIncrement() % fuzzers.size()));
+                    for (String engine : engines) {
+                        String mismatch;
+                        if (isBatch(engine)) {
+                            long first = nextSequence.getAndAdd(BATCH_LANES);
+                            for (int lane = 0; lane < BATCH_LANES; lane++) {
+                                seeds[lane] = sequenceSeed(rootSeed, first + lane);
+                            }
+                            mismatch = fuzzer.checkBatch(engine, seeds, BATCH_LANES);
+                            stepsDone.addAndGet((long) BATCH_LANES * fuzzer.length);
+                        } else {
+                            // As many sequences as a batch has lanes, so every engine gets the same share of steps
+                            mismatch = null;
+                            for (int i = 0; i < BATCH_LANES && mismatch == null; i++) {
+                                long sequenceSeed = sequenceSeed(rootSeed, nextSequence.getAndIncrement());
+                                mismatch = fuzzer.checkBoardSequence(engine, sequenceSeed);
+                                stepsDone.addAndGet(fuzzer.length);
+                            }
+                        }
+                        if (mismatch != null) {
+                            failure.compareAndSet(null, mismatch);
+                            return;
+                        }
+                    }
+                }
+            }));
+        }
+        pool.shutdown();
+
+        long lastReport = System.currentTimeMillis();
+        for (Future<?> worker : workers) {
+            while (!worker.isDone()) {
+                Thread.sleep(100);
+                if (System.currentTimeMillis() - lastReport >= REPORT_INTERVAL_MS) {
+                    lastReport = System.currentTimeMillis();
+                    printProgress(report, stepsDone.get(), start);
+                }
+            }
+            worker.get();
+        }
+        printProgress(report, stepsDone.get(), start);
+        return failure.get();
+    }
+
+    // Replays one sequence on every engine and shrinks it if an engine disagrees
+    // Returns the reproducer, or null if every engine matched
+    String checkSequence(List<String> engines, long sequenceSeed) {
+        checkEngines(engines);
+        for (String engine : engines) {
+            String mismatch = isBatch(engine)
+                    ? checkBatch(engine, new long[]{sequenceSeed}, 1)
+                    : checkBoardSequence(engine, sequenceSeed);
+            if (mismatch != null) return mismatch;
+        }
+        return null;
+    }
+
+    // Rejects unknown engine names, and the vector engine when its kernel cannot be loaded
+    private static void checkEngines(List<String> engines) {
+        for (String engine : engines) {
+            if (!isBatch(engine) && !BOARD_ENGINES.containsKey(engine)) {
+                throw new IllegalArgumentException("Unknown engine: " + engine);
+            }
+            if (engine.equals(VECTOR_ENGINE) && !BatchEngine.isVectorApiAvailable()) {
+                throw new IllegalStateException("The vector engine needs -Pvector and --add-modules jdk.incubator.vector");
+            }
+        }
+    }
+
+    private static boolean isBatch(String engine) {
+        return engine.equals(BATCH_ENGINE) || engine.equals(VECTOR_ENGINE);
+    }
+
+    private static void printProgress(PrintStream report, long steps, long start) {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        report.printf("%,d steps in %.1f s, %,.0f steps/s%n", steps, seconds, steps / seconds);
+    }
+
+    // Derives the seed of the nth sequence, so a failing sequence can be replayed on its own
+    private static long sequenceSeed(long rootSeed, long index) {
+        return new SplittableRandom(rootSeed + index * 0x9E3779B97F4A7C15L).nextLong();
+    }
+
+    // Plays a board engine against the reference, shrinking the sequence on a mismatch
+    private String checkBoardSequence(String engine, long sequenceSeed) {
+        int[] actions = actions(sequenceSeed, false);
+        Mismatch mismatch = replayBoard(engine, sequenceSeed, actions);
+        if (mismatch == null) return null;
+        int[] shrunk = shrink(actions, mismatch.step(), candidate -> replayBoard(engine, sequenceSeed, candidate));
+        return reproducer(engine, sequenceSeed, actions.length, shrunk,
+                replayBoard(engine, sequenceSeed, shrunk));
+    }
+
+    // Plays a batch of sequences on one BatchEngine, one lane each, against one reference game per lane
+    // A mismatching lane is shrunk on a single lane engine
+    private String checkBatch(String engine, long[] seeds, int lanes) {
+        int[][] actions = new int[lanes][];
+        for (int lane = 0; lane < lanes; lane++) {
+            actions[lane] = actions(seeds[lane], true);
+        }
+        Mismatch[] mismatches = replayBatch(engine, seeds, actions, lanes);
+        for (int lane = 0; lane < lanes; lane++) {
+            if (mismatches[lane] == null) continue;
+            long seed = seeds[lane];
+            int[] shrunk = shrink(actions[lane], mismatches[lane].step(),
+                    candidate -> replayBatch(engine, new long[]{seed}, new int[][]{candidate}, 1)[0]);
+            return reproducer(engine, seed, actions[lane].length, shrunk,
+                    replayBatch(engine, new long[]{seed}, new int[][]{shrunk}, 1)[0]);
+        }
+        return null;
+    }
+
+    // Builds the random action sequence of a seed
+    // The batch engine only places bricks, so its sequences are placements only
+    private int[] actions(long sequenceSeed, boolean placementsOnly) {
+        SplittableRandom random = Sequence.of(sequenceSeed).random();
+        int[] actions = new int[length];
+        for (int i = 0; i < length; i++) {
+            int op;
+            if (placementsOnly) {
+                op = PLACE;
+            } else {
+                // Undo is kept rare so games get deep enough to clear lines
+                op = random.nextInt(20) == 0 ? UNDO : random.nextInt(UNDO);
+            }
+            // Mostly valid rotations and columns, with some just outside the range
+            int rotation = random.nextInt(8) == 0 ? random.nextInt(-1, 5) : random.nextInt(4);
+            int column = random.nextInt(-3, width + 2);
+            actions[i] = encode(op, rotation, column);
+        }
+        return actions;
+    }
+
+    private static Game newGame(SimpleBoard board, long sequenceSeed) {
+        return new Game(board, Sequence.of(sequenceSeed).allSpin());
+    }
+
+    private static SeededBrickGenerator generatorOf(long sequenceSeed) {
+        Sequence sequence = Sequence.of(sequenceSeed);
+        return new SeededBrickGenerator(sequence.randomizer(), sequence.brickSeed());
+    }
+
+    // Replays actions on the reference and a board engine
+    // Returns the first step where they differ, or null
+    private Mismatch replayBoard(String engine, long sequenceSeed, int[] actions) {
+        Game reference = newGame(new SimpleBoard(width, height, generatorOf(sequenceSeed)), sequenceSeed);
+        Game candidate = newGame(BOARD_ENGINES.get(engine).create(width, height, generatorOf(sequenceSeed)),
+                sequenceSeed);
+        String difference = compare(reference, candidate);
+        if (difference != null) return new Mismatch(-1, "before the first action: " + difference);
+        for (int step = 0; step < actions.length; step++) {
+            int expected = reference.apply(actions[step]);
+            int actual = candidate.apply(actions[step]);
+            difference = expected != actual
+                    ? "result " + describeResult(actual) + ", expected " + describeResult(expected)
+                    : compare(reference, candidate);
+            if (difference != null) return new Mismatch(step, difference);
+        }
+        return null;
+    }
+
+    // Replays placement sequences on a BatchEngine and one reference game per lane
+    // param kernel: BATCH_ENGINE for the scalar kernel, VECTOR_ENGINE for the Vector API one
+    // Returns the first mismatch of each lane, null for lanes that matched
+    private Mismatch[] replayBatch(String kernel, long[] seeds, int[][] actions, int lanes) {
+        SeededBrickGenerator[] generators = new SeededBrickGenerator[lanes];
+        Game[] references = new Game[lanes];
+        int steps = 0;
+        for (int lane = 0; lane < lanes; lane++) {
+            generators[lane] = generatorOf(seeds[lane]);
+            references[lane] = newGame(new SimpleBoard(width, height, generatorOf(seeds[lane])), seeds[lane]);
+            steps = Math.max(steps, actions[lane].length);
+        }
+        BatchEngine engine = new BatchEngine(width, height, generators, kernel.equals(VECTOR_ENGINE));
+        Mismatch[] mismatches = new Mismatch[lanes];
+        int[] rotations = new int[lanes];
+        int[] columns = new int[lanes];
+        int[] results = new int[lanes];
+        int[] expectedScore = new int[Score.STATE_SIZE];
+        int[] actualScore = new int[Score.STATE_SIZE];
+
+        for (int lane = 0; lane < lanes; lane++) {
+            String difference = compareLane(references[lane], engine, lane, expectedScore, actualScore);
+            if (difference != null) mismatches[lane] = new Mismatch(-1, "before the first action: " + difference);
+        }
+        for (int step = 0; step < steps; step++) {
+            for (int lane = 0; lane < lanes; lane++) {
+                // Finished and failed lanes get a rotation that never fits, so they stand still
+                boolean playing = mismatches[lane] == null && step < actions[lane].length;
+                rotations[lane] = playing ? rotationOf(actions[lane][step]) : -1;
+                columns[lane] = playing ? columnOf(actions[lane][step]) : 0;
+            }
+            engine.step(rotations, columns, results);
+            for (int lane = 0; lane < lanes; lane++) {
+                if (mismatches[lane] != null || step >= actions[lane].length) continue;
+                int expected = references[lane].apply(actions[lane][step]);
+                if (expected != results[lane]) {
+                    mismatches[lane] = new Mismatch(step,
+                            "result " + describeResult(results[lane]) + ", expected " + describeResult(expected));
+                    continue;
+                }
+                if (Placement.isValid(expected) && Placement.isTopOut(expected)) {
+                    // The reference game restarted itself, the batch lane has stopped until it is reset
+                    engine.resetBoard(lane);
+                }
+                String difference = compareLane(references[lane], engine, lane, expectedScore, actualScore);
+                if (difference != null) mismatches[lane] = new Mismatch(step, difference);
+            }
+        }
+        return mismatches;
+    }
+
+    // Shrinks a failing sequence to a shorter one that still fails
+    // The sequence is first cut after the failing step, then chunks of halving size are removed
+    // while the remaining actions still produce a mismatch
+    private static int[] shrink(int[] actions, int failingStep, Replay replay) {
+        int[] current = Arrays.copyOf(actions, Math.max(1, failingStep + 1));
+        int chunk = Math.max(1, current.length / 2);
+        while (true) {
+            boolean removed = false;
+            for (int start = 0; start < current.length && current.length > 1; ) {
+                int end = Math.min(current.length, start + chunk);
+                int[] candidate = new int[current.length - (end - start)];
+                System.arraycopy(current, 0, candidate, 0, start);
+                System.arraycopy(current, end, candidate, start, current.length - end);
+                Mismatch mismatch = candidate.length == 0 ? null : replay.run(candidate);
+                if (mismatch != null) {
+                    current = Arrays.copyOf(candidate, Math.max(1, mismatch.step() + 1));
+                    removed = true;
+                } else {
+                    start += chunk;
+                }
+            }
+            if (!removed) {
+                if (chunk == 1) break;
+                chunk /= 2;
+            }
+        }
+        return current;
+    }
+
+    private String reproducer(String engine, long sequenceSeed, int originalLength, int[] shrunk, Mismatch mismatch) {
+        StringBuilder text = new StringBuilder();
+        Sequence sequence = Sequence.of(sequenceSeed);
+        text.append("MISMATCH in ").append(engine).append(" on ").append(width).append('x').append(height)
+                .append(", sequence=").append(sequenceSeed)
+                .append(", randomizer ").append(sequence.randomizer())
+                .append(", all-spin ").append(sequence.allSpin()).append('\n');
+        text.append("Shrunk from ").append(originalLength).append(" to ").append(shrunk.length).append(" actions:");
+        for (int action : shrunk) {
+            text.append(' ').append(describe(action));
+        }
+        text.append('\n');
+        if (mismatch != null) {
+            text.append("At step ").append(mismatch.step()).append(": ").append(mismatch.difference());
+        }
+        return text.toString();
+    }
+
+    // Compares two games, returning a description of the first difference or null
+    // Each game is first checked against its naive board
+    private static String compare(Game reference, Game candidate) {
+        String naive = reference.verify();
+        if (naive != null) return "SimpleBoard differs from the naive board: " + naive;
+        naive = candidate.verify();
+        if (naive != null) return "differs from the naive board: " + naive;
+
+        SimpleBoard expected = reference.board;
+        SimpleBoard actual = candidate.board;
+        int[][] expectedCells = expected.getBoardMatrix();
+        int[][] actualCells = actual.getBoardMatrix();
+        for (int row = 0; row < expectedCells.length; row++) {
+            if (!Arrays.equals(expectedCells[row], actualCells[row])) {
+                return "board row " + row + " is " + Arrays.toString(actualCells[row])
+                        + ", expected " + Arrays.toString(expectedCells[row]);
+            }
+        }
+
+        ViewData expectedView = expected.getViewData();
+        ViewData actualView = actual.getViewData();
+        String brick = compareShapes("falling brick", expectedView.getBrickShape(), actualView.getBrickShape());
+        if (brick != null) return brick;
+        if (expectedView.getxPosition() != actualView.getxPosition()
+                || expectedView.getyPosition() != actualView.getyPosition()) {
+            return "falling brick at " + actualView.getxPosition() + "," + actualView.getyPosition()
+                    + ", expected " + expectedView.getxPosition() + "," + expectedView.getyPosition();
+        }
+        String hold = compareShapes("hold", expectedView.getHoldBrickShape(), actualView.getHoldBrickShape());
+        if (hold != null) return hold;
+        if (expected.getStateHash() != actual.getStateHash()) {
+            return "state hash differs";
+        }
+        return compareScores(reference.score, candidate.score);
+    }
+
+    // Compares a batch lane with its reference game: cells and counters against the naive board,
+    // falling brick and scoring values against the game
+    private static String compareLane(Game reference, BatchEngine engine, int lane, int[] expectedScore,
+                                      int[] actualScore) {
+        String naive = reference.verify();
+        if (naive != null) return "SimpleBoard differs from the naive board: " + naive;
+        ReferenceBoard expected = reference.shadow;
+        for (int row = 0; row < engine.getHeight(); row++) {
+            int expectedRow = expected.getRowMask(row);
+            if (engine.getRow(lane, row) != expectedRow) {
+                return "board row " + row + " is " + Integer.toBinaryString(engine.getRow(lane, row))
+                        + ", expected " + Integer.toBinaryString(expectedRow);
+            }
+        }
+        if (engine.getFilledCellCount(lane) != expected.getFilledCellCount()) {
+            return "filled cells " + engine.getFilledCellCount(lane) + ", expected " + expected.getFilledCellCount();
+        }
+        if (engine.getStackHeight(lane) != expected.getStackHeight()) {
+            return "stack height " + engine.getStackHeight(lane) + ", expected " + expected.getStackHeight();
+        }
+        for (int column = 0; column < engine.getWidth(); column++) {
+            if (engine.getColumnHeight(lane, column) != expected.getColumnHeight(column)) {
+                return "column " + column + " height " + engine.getColumnHeight(lane, column)
+                        + ", expected " + expected.getColumnHeight(column);
+            }
+        }
+        int expectedPiece = reference.board.getCurrentBrick().getPieceId();
+        if (engine.getPieceId(lane) != expectedPiece) {
+            return "falling brick " + engine.getPieceId(lane) + ", expected " + expectedPiece;
+        }
+        reference.score.saveState(expectedScore, 0);
+        engine.copyScoreState(lane, actualScore, 0);
+        if (!Arrays.equals(expectedScore, actualScore)) {
+            return "score state " + Arrays.toString(actualScore) + ", expected " + Arrays.toString(expectedScore)
+                    + " (score, level, lines, combo, back-to-back, tetris chain)";
+        }
+        return null;
+    }
+
+    private static String compareShapes(String what, BrickShape expected, BrickShape actual) {
+        if (expected == null || actual == null) {
+            return expected == actual ? null : what + " is " + actual + ", expected " + expected;
+        }
+        if (expected.getPieceId() != actual.getPieceId() || expected.getRotation() != actual.getRotation()) {
+            return what + " is piece " + actual.getPieceId() + " rotation " + actual.getRotation()
+                    + ", expected piece " + expected.getPieceId() + " rotation " + expected.getRotation();
+        }
+        return null;
+    }
+
+    private static String compareScores(Score expected, Score actual) {
+        int[] expectedState = new int[Score.STATE_SIZE];
+        int[] actualState = new int[Score.STATE_SIZE];
+        expected.saveState(expectedState, 0);
+        actual.saveState(actualState, 0);
+        if (!Arrays.equals(expectedState, actualState)) {
+            return "score state " + Arrays.toString(actualState) + ", expected " + Arrays.toString(expectedState)
+                    + " (score, level, lines, combo, back-to-back, tetris chain)";
+        }
+        return null;
+    }
+
+    static int encode(int op, int rotation, int column) {
+        return op | ((rotation + 1) << OP_BITS) | ((column + COLUMN_BIAS) << (OP_BITS + ROTATION_BITS));
+    }
+
+    static int opOf(int action) {
+        return action & ((1 << OP_BITS) - 1);
+    }
+
+    static int rotationOf(int action) {
+        return ((action >>> OP_BITS) & ((1 << ROTATION_BITS) - 1)) - 1;
+    }
+
+    static int columnOf(int action) {
+        return (action >>> (OP_BITS + ROTATION_BITS)) - COLUMN_BIAS;
+    }
+
+    // Describes an action, e.g. "LEFT" or "PLACE(2,-1)"
+    static String describe(int action) {
+        String name = OP_NAMES[opOf(action)];
+        return opOf(action) == PLACE ? name + "(" + rotationOf(action) + "," + columnOf(action) + ")" : name;
+    }
+
+    private static String describeResult(int result) {
+        if (!Placement.isValid(result)) return "INVALID";
+        return "piece " + Placement.getPieceId(result) + " lines " + Placement.getLinesCleared(result) + " drop " + Placement.getDropDistance(result)
+                + (Placement.isPerfectClear(result) ? " perfect clear" : "")
+                + (Placement.isTopOut(result) ? " top out" : "");
+    }
+
+    // Replays a candidate sequence for shrinking
+    private interface Replay {
+        Mismatch run(int[] actions);
+    }
+
+    // The settings of a sequence, read from the start of its random stream
+    // The stream is left where the actions of the sequence begin
+    private record Sequence(Randomizer randomizer, long brickSeed, boolean allSpin, SplittableRandom random) {
+
+        static Sequence of(long sequenceSeed) {
+            SplittableRandom random = new SplittableRandom(sequenceSeed);
+            Randomizer randomizer = Randomizer.values()[random.nextInt(Randomizer.values().length)];
+            long brickSeed = random.nextLong();
+            boolean allSpin = random.nextBoolean();
+            return new Sequence(randomizer, brickSeed, allSpin, random);
+        }
+    }
+
+    // The first step where an engine disagreed and how, step -1 meaning before any action
+    private record Mismatch(int step, String difference) {
+    }
+
+    // A board and its score, driven the way GameController drives them and scored with the same Score.scoreLock
+    // Every lock is repeated on a naive ReferenceBoard, which decides the lines and perfect clears that are
+    // scored, and every move, rotation, drop and placement is checked against a collision test on it
+    private static final class Game {
+
+        final SimpleBoard board;
+        final ReferenceBoard shadow;
+        final Score score = new Score();
+        private final int[] expectedFeatures = new int[BoardFeatures.FEATURE_COUNT];
+        private final int[] actualFeatures = new int[BoardFeatures.FEATURE_COUNT];
+        // How the last action disagreed with the naive board, null while they agree
+        private String actionMismatch;
+
+        Game(SimpleBoard board, boolean allSpin) {
+            this.board = board;
+            shadow = new ReferenceBoard(board.getWidth(), board.getHeight());
+            score.setLogging(false);
+            board.setLogging(false);
+            board.setScore(score);
+            board.setAllSpinEnabled(allSpin);
+            board.newGame();
+        }
+
+        // Applies one action, a top out starts a new game
+        // Returns the Placement result for PLACE and 0 for every other action
+        int apply(int action) {
+            actionMismatch = null;
+            switch (opOf(action)) {
+                case LEFT -> checkMove("left", fitsMoved(-1, 0), board.moveBrickLeft());
+                case RIGHT -> checkMove("right", fitsMoved(1, 0), board.moveBrickRight());
+                case ROTATE_CW -> rotate(ROTATE_CW);
+                case ROTATE_CCW -> rotate(ROTATE_CCW);
+                case ROTATE_180 -> rotate(ROTATE_180);
+                case SOFT_DROP -> {
+                    boolean expected = fitsMoved(0, 1);
+                    boolean moved = board.moveBrickDown();
+                    checkMove("down", expected, moved);
+                    if (moved) {
+                        score.addSoftDropScore(1);
+                    } else {
+                        lock(0);
+                    }
+                }
+                case HARD_DROP -> {
+                    int expected = dropDistance();
+                    int distance = board.dropBrick();
+                    if (distance != expected) {
+                        actionMismatch = "hard drop fell " + distance + " rows, the naive board has " + expected;
+                    }
+                    lock(distance);
+                }
+                case HOLD -> board.holdCurrentBrick();
+                case UNDO -> {
+                    if (board.undoLastPiece() && !shadow.undo()) {
+                        actionMismatch = "undo succeeded with no lock to undo";
+                    }
+                }
+                case PLACE -> {
+                    return place(rotationOf(action), columnOf(action));
+                }
+                default -> throw new IllegalArgumentException("Unknown action " + action);
+            }
+            return 0;
+        }
+
+        // Checks the board against the naive board after an action
+        // Returns the first difference, or null if the cells and every counter match
+        String verify() {
+            if (actionMismatch != null) return actionMismatch;
+            int[][] expected = shadow.getCells();
+            int[][] actual = board.getBoardMatrix();
+            for (int row = 0; row < expected.length; row++) {
+                if (!Arrays.equals(expected[row], actual[row])) {
+                    return "board row " + row + " is " + Arrays.toString(actual[row])
+                            + ", expected " + Arrays.toString(expected[row]);
+                }
+                if (board.getRowFill(row) != shadow.getRowFill(row)) {
+                    return "row " + row + " fill " + board.getRowFill(row) + ", expected " + shadow.getRowFill(row);
+                }
+            }
+            if (board.getFilledCellCount() != shadow.getFilledCellCount()) {
+                return "filled cells " + board.getFilledCellCount() + ", expected " + shadow.getFilledCellCount();
+            }
+            if (board.getStackHeight() != shadow.getStackHeight()) {
+                return "stack height " + board.getStackHeight() + ", expected " + shadow.getStackHeight();
+            }
+            BoardFeatures features = board.getFeatures();
+            for (int column = 0; column < board.getWidth(); column++) {
+                if (board.getColumnHeight(column) != shadow.getColumnHeight(column)
+                        || features.getColumnHeight(column) != shadow.getColumnHeight(column)) {
+                    return "column " + column + " height " + board.getColumnHeight(column) + ", features "
+                            + features.getColumnHeight(column) + ", expected " + shadow.getColumnHeight(column);
+                }
+                if (features.getWellDepth(column) != shadow.getWellDepth(column)) {
+                    return "column " + column + " well depth " + features.getWellDepth(column)
+                            + ", expected " + shadow.getWellDepth(column);
+                }
+            }
+            if (board.getBackgroundHash() != shadow.getBackgroundHash()) {
+                return "background hash " + Long.toHexString(board.getBackgroundHash())
+                        + ", expected " + Long.toHexString(shadow.getBackgroundHash());
+            }
+            features.copyTo(actualFeatures, 0);
+            shadow.copyFeatures(expectedFeatures);
+            if (!Arrays.equals(expectedFeatures, actualFeatures)) {
+                return "features " + Arrays.toString(actualFeatures) + ", expected " + Arrays.toString(expectedFeatures)
+                        + " (aggregate height, max height, holes, bumpiness, row transitions, well sum, max well)";
+            }
+            return null;
+        }
+
+        // Checks if the falling brick fits on the naive board after a move
+        private boolean fitsMoved(int dx, int dy) {
+            if (board.getCurrentBrick() == null) return false;
+            return !shadow.intersects(currentShape(), board.getCurrentX() + dx, board.getCurrentY() + dy);
+        }
+
+        private void checkMove(String direction, boolean expected, boolean moved) {
+            if (moved != expected) {
+                actionMismatch = "moving " + direction + " returned " + moved + ", the naive board says " + expected;
+            }
+        }
+
+        // Rotates the brick, expecting the first SRS kick that fits on the naive board to be taken
+        private void rotate(int op) {
+            Brick brick = board.getCurrentBrick();
+            if (brick == null) return;
+            int pieceId = brick.getPieceId();
+            int rotations = brick.getRotationCount();
+            int from = board.getCurrentRotation();
+            int to = switch (op) {
+                case ROTATE_CCW -> (from + 1) % rotations;
+                case ROTATE_CW -> (from + rotations - 1) % rotations;
+                default -> (from + 2) % rotations;
+            };
+            BrickShape shape = BrickShapeRegistry.getShape(pieceId, to);
+            int expectedX = board.getCurrentX();
+            int expectedY = board.getCurrentY();
+            int expectedRotation = from;
+            for (int kick = 0; kick < WallKicks.getKickCount(pieceId, from, to); kick++) {
+                int x = board.getCurrentX() + WallKicks.getKickX(pieceId, from, to, kick);
+                int y = board.getCurrentY() + WallKicks.getKickY(pieceId, from, to, kick);
+                if (!shadow.intersects(shape, x, y)) {
+                    expectedX = x;
+                    expectedY = y;
+                    expectedRotation = to;
+                    break;
+                }
+            }
+
+            switch (op) {
+                case ROTATE_CCW -> board.rotateLeftBrick();
+                case ROTATE_CW -> board.rotateRightBrick();
+                default -> board.rotate180Brick();
+            }
+            if (board.getCurrentX() != expectedX || board.getCurrentY() != expectedY
+                    || board.getCurrentRotation() != expectedRotation) {
+                actionMismatch = "rotation " + from + " to " + to + " ended at " + board.getCurrentX() + ","
+                        + board.getCurrentY() + " rotation " + board.getCurrentRotation() + ", the naive board has "
+                        + expectedX + "," + expectedY + " rotation " + expectedRotation;
+            }
+        }
+
+        // Places the brick, checking fit, drop distance, lines and perfect clear against the naive board
+        private int place(int rotation, int column) {
+            Brick brick = board.getCurrentBrick();
+            int y = board.getCurrentY();
+            BrickShape shape = brick != null && rotation >= 0 && rotation < brick.getRotationCount()
+                    ? BrickShapeRegistry.getShape(brick.getPieceId(), rotation) : null;
+            boolean fits = shape != null && !shadow.intersects(shape, column, y);
+            int result = board.placeBrick(rotation, column);
+            if (Placement.isValid(result) != fits) {
+                actionMismatch = "placement " + describeResult(result) + ", the naive board says it "
+                        + (fits ? "fits" : "does not fit");
+                return result;
+            }
+            if (!fits) return result;
+
+            int distance = shadow.dropDistance(shape, column, y);
+            shadow.merge(shape, column, y + distance);
+            int lines = shadow.clearRows();
+            boolean perfectClear = shadow.getFilledCellCount() == 0;
+            if (Placement.getPieceId(result) != brick.getPieceId() || Placement.getDropDistance(result) != distance
+                    || Placement.getLinesCleared(result) != lines || Placement.isPerfectClear(result) != perfectClear) {
+                actionMismatch = "placement " + describeResult(result) + ", the naive board has "
+                        + describeResult(Placement.encode(brick.getPieceId(), lines, distance, perfectClear,
+                                Placement.isTopOut(result)));
+            }
+            score.scoreLock(distance, lines, perfectClear, SpinType.NONE, brick.getPieceId());
+            if (Placement.isTopOut(result)) {
+                restart();
+            }
+            return result;
+        }
+
+        // Locks the falling brick on both boards and scores the naive board's clear
+        private void lock(int dropDistance) {
+            Brick brick = board.getCurrentBrick();
+            if (brick == null) {
+                if (board.createNewBrick()) restart();
+                return;
+            }
+            BrickShape shape = currentShape();
+            int x = board.getCurrentX();
+            int y = board.getCurrentY();
+            board.mergeBrickToBackground();
+            ClearRow clearRow = board.clearRows();
+            shadow.merge(shape, x, y);
+            int lines = shadow.clearRows();
+            if (clearRow.getLinesRemoved() != lines && actionMismatch == null) {
+                actionMismatch = "lock cleared " + clearRow.getLinesRemoved() + " lines, the naive board " + lines;
+            }
+            score.scoreLock(dropDistance, lines, shadow.getFilledCellCount() == 0,
+                    board.getLastSpin(), brick.getPieceId());
+            if (board.createNewBrick()) {
+                restart();
+            }
+        }
+
+        private int dropDistance() {
+            if (board.getCurrentBrick() == null) return 0;
+            return shadow.dropDistance(currentShape(), board.getCurrentX(), board.getCurrentY());
+        }
+
+        private BrickShape currentShape() {
+            return BrickShapeRegistry.getShape(board.getCurrentBrick().getPieceId(), board.getCurrentRotation());
+        }
+
+        private void restart() {
+            board.newGame();
+            shadow.reset();
+            score.reset();
+        }
+    }
+}
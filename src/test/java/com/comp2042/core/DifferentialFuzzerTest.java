@@ -0,0 +1,52 @@
+// Runs the differential fuzzer with a budget small enough for every build
+// Longer runs pass system properties to Maven, e.g. mvn test -Dtest=DifferentialFuzzerTest -Dfuzz.steps=100000000
+//   fuzz.steps=1000000   total steps to play across all sequences
+//   fuzz.length=400      actions per sequence
+//   fuzz.seed=1          root seed, sequence seeds are derived from it
+//   fuzz.threads=<cores> worker threads
+//   fuzz.engines=...     bitboard and batch, plus vector when its kernel is available
+//   fuzz.width=4,7,10    board widths to take turns with, narrow boards clear lines far more often
+//   fuzz.height=20
+//   fuzz.sequence=<seed> replay and shrink a single sequence printed by a failure instead of fuzzing
+
+package com.comp2042.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+class DifferentialFuzzerTest {
+
+    @Test
+    void enginesMatchTheReference() throws Exception {
+        long steps = Long.getLong("fuzz.steps", 1_000_000);
+        int length = Integer.getInteger("fuzz.length", 400);
+        long seed = Long.getLong("fuzz.seed", 1);
+        int threads = Integer.getInteger("fuzz.threads", Runtime.getRuntime().availableProcessors());
+        int height = Integer.getInteger("fuzz.height", 20);
+        String sequence = System.getProperty("fuzz.sequence");
+        List<String> engines = new ArrayList<>(List.of("bitboard", DifferentialFuzzer.BATCH_ENGINE));
+        if (BatchEngine.isVectorApiAvailable()) {
+            engines.add(DifferentialFuzzer.VECTOR_ENGINE);
+        }
+        String engineList = System.getProperty("fuzz.engines");
+        if (engineList != null) {
+            engines = List.of(engineList.split(","));
+        }
+        List<DifferentialFuzzer> fuzzers = new ArrayList<>();
+        for (String width : System.getProperty("fuzz.width", "4,7,10").split(",")) {
+            fuzzers.add(new DifferentialFuzzer(Integer.parseInt(width), height, length));
+        }
+
+        // A reproducer names its board size, so a replay uses the first width given
+        String failure = sequence != null
+                ? fuzzers.get(0).checkSequence(engines, Long.parseLong(sequence))
+                : DifferentialFuzzer.run(fuzzers, engines, steps, seed, threads, System.out);
+        if (failure != null) {
+            fail(failure);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+// Checks that the input -> move -> collide path allocates nothing once warmed up
+// Measured with the per-thread allocation counter, so other threads and the GC do not affect it
+
+package com.comp2042.core;
+
+import com.comp2042.model.ViewData;
+import com.comp2042.model.events.EventSource;
+import com.comp2042.model.events.EventType;
+import com.comp2042.model.events.MoveEvent;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class MoveAllocationTest {
+
+    private static final int MOVES = 100_000;
+    private static final int WARMUP_ROUNDS = 5;
+    // Room for a few stray objects from the measuring itself, far below one allocation per move
+    private static final long ALLOWED_BYTES = 1024;
+
+    private static final EventType[] MOVE_TYPES = {
+            EventType.LEFT, EventType.ROTATE, EventType.RIGHT, EventType.ROTATE_CLOCKWISE,
+            EventType.DOWN, EventType.RIGHT, EventType.ROTATE_180, EventType.LEFT
+    };
+
+    @Test
+    void movingTheBrickAllocatesNothing() {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "per-thread allocation counting is not supported");
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        SimpleBoard board = new SimpleBoard(GameController.DEFAULT_WIDTH, GameController.DEFAULT_HEIGHT);
+        board.setScore(new Score());
+        board.newGame();
+        ViewData viewData = board.getViewData();
+
+        // Lets the JIT compile the path, the interpreter and on-stack replacement may allocate
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            moveBrick(board, MOVES);
+        }
+
+        long thread = Thread.currentThread().threadId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        moveBrick(board, MOVES);
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+        assertSame(viewData, board.getViewData(), "the view data should be refreshed in place");
+        assertTrue(allocated <= ALLOWED_BYTES, MOVES + " moves allocated " + allocated + " bytes");
+    }
+
+    // Plays moves the way InputHandler sends them, reading the view after each one like the renderer does
+    private static void moveBrick(SimpleBoard board, int moves) {
+        for (int i = 0; i < moves; i++) {
+            MoveEvent event = MoveEvent.of(MOVE_TYPES[i % MOVE_TYPES.length], EventSource.USER);
+            switch (event.getEventType()) {
+                case LEFT -> board.moveBrickLeft();
+                case RIGHT -> board.moveBrickRight();
+                case ROTATE -> board.rotateLeftBrick();
+                case ROTATE_CLOCKWISE -> board.rotateRightBrick();
+                case ROTATE_180 -> board.rotate180Brick();
+                default -> board.moveBrickDown();
+            }
+            board.getViewData();
+        }
+    }
+}
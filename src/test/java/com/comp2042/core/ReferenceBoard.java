@@ -0,0 +1,224 @@
+// Naive board the differential fuzzer checks every engine against
+// Cells are a plain int[][] written one shape matrix cell at a time, and clearing copies the rows that
+// are not full into a fresh matrix, bottom up, the way MatrixOperations.checkRemoving did before rows
+// were cleared in place
+// Nothing is kept incrementally: fill counts, column heights, the hash and the evaluation features are
+// recomputed from the cells whenever they are asked for, so it shares no bookkeeping with the engines
+// Undo puts back a full copy of the cells taken before each merge
+
+package com.comp2042.core;
+
+import com.comp2042.logic.bricks.BrickShape;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+final class ReferenceBoard {
+
+    private final int width;
+    private final int height;
+    private int[][] cells;
+    private final Deque<int[][]> history = new ArrayDeque<>();
+
+    // Constructs an empty board
+    // param width: the number of columns
+    // param height: the number of rows
+    ReferenceBoard(int width, int height) {
+        this.width = width;
+        this.height = height;
+        cells = new int[height][width];
+    }
+
+    // Empties the board and forgets the undo history
+    void reset() {
+        cells = new int[height][width];
+        history.clear();
+    }
+
+    // Checks if a shape overlaps a filled cell or leaves the board
+    // param shape: the shape, read through its matrix
+    // param x: the column of the shape's top-left corner
+    // param y: the row of the shape's top-left corner
+    boolean intersects(BrickShape shape, int x, int y) {
+        for (int row = 0; row < shape.getRowCount(); row++) {
+            for (int column = 0; column < shape.getColumnCount(); column++) {
+                if (shape.getValue(row, column) == 0) continue;
+                int boardRow = y + row;
+                int boardColumn = x + column;
+                if (boardRow < 0 || boardRow >= height || boardColumn < 0 || boardColumn >= width
+                        || cells[boardRow][boardColumn] != 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Counts the rows a shape can fall, one row at a time, before the next row would intersect
+    int dropDistance(BrickShape shape, int x, int y) {
+        int distance = 0;
+        while (!intersects(shape, x, y + distance + 1)) {
+            distance++;
+        }
+        return distance;
+    }
+
+    // Writes a shape into the cells with the colour of its matrix, saving the cells before it for undo
+    void merge(BrickShape shape, int x, int y) {
+        history.push(copy(cells));
+        for (int row = 0; row < shape.getRowCount(); row++) {
+            for (int column = 0; column < shape.getColumnCount(); column++) {
+                if (shape.getValue(row, column) != 0) {
+                    cells[y + row][x + column] = shape.getValue(row, column);
+                }
+            }
+        }
+    }
+
+    // Removes the full rows by copying every other row into a new matrix, keeping their order
+    // Returns the number of rows removed
+    int clearRows() {
+        int[][] kept = new int[height][width];
+        int target = height - 1;
+        int removed = 0;
+        for (int row = height - 1; row >= 0; row--) {
+            if (getRowFill(row) == width) {
+                removed++;
+            } else {
+                kept[target--] = cells[row].clone();
+            }
+        }
+        cells = kept;
+        return removed;
+    }
+
+    // Goes back to the cells before the last merge
+    // Returns false if there was no merge to undo
+    boolean undo() {
+        if (history.isEmpty()) return false;
+        cells = history.pop();
+        return true;
+    }
+
+    // Gets the cells, the caller must not change them
+    int[][] getCells() {
+        return cells;
+    }
+
+    int getRowFill(int row) {
+        int fill = 0;
+        for (int column = 0; column < width; column++) {
+            if (cells[row][column] != 0) fill++;
+        }
+        return fill;
+    }
+
+    // Gets a row as a mask with bit c set when column c is filled, the way BatchEngine stores it
+    int getRowMask(int row) {
+        int mask = 0;
+        for (int column = 0; column < width; column++) {
+            if (cells[row][column] != 0) mask |= 1 << column;
+        }
+        return mask;
+    }
+
+    int getFilledCellCount() {
+        int filled = 0;
+        for (int row = 0; row < height; row++) {
+            filled += getRowFill(row);
+        }
+        return filled;
+    }
+
+    // Gets the number of rows from the floor up to the highest non-empty row
+    int getStackHeight() {
+        for (int row = 0; row < height; row++) {
+            if (getRowFill(row) > 0) return height - row;
+        }
+        return 0;
+    }
+
+    // Gets the number of rows from the floor up to and including the highest filled cell of a column
+    int getColumnHeight(int column) {
+        for (int row = 0; row < height; row++) {
+            if (cells[row][column] != 0) return height - row;
+        }
+        return 0;
+    }
+
+    // Gets how far a column sits below the lower of its neighbours, walls counting as infinitely high
+    int getWellDepth(int column) {
+        int left = column > 0 ? getColumnHeight(column - 1) : Integer.MAX_VALUE;
+        int right = column < width - 1 ? getColumnHeight(column + 1) : Integer.MAX_VALUE;
+        int rim = Math.min(left, right);
+        return rim == Integer.MAX_VALUE ? 0 : Math.max(0, rim - getColumnHeight(column));
+    }
+
+    // Hashes the cells with the same keys as SimpleBoard.getBackgroundHash
+    long getBackgroundHash() {
+        long hash = 0;
+        for (int row = 0; row < height; row++) {
+            long rowHash = 0;
+            for (int column = 0; column < width; column++) {
+                if (cells[row][column] != 0) rowHash ^= ZobristKeys.column(column);
+            }
+            hash ^= rowHash * ZobristKeys.row(row);
+        }
+        return hash;
+    }
+
+    // Computes the evaluation features in BoardFeatures.copyTo order
+    // param into: the buffer to write BoardFeatures.FEATURE_COUNT values to
+    void copyFeatures(int[] into) {
+        int[] heights = new int[width];
+        for (int column = 0; column < width; column++) {
+            heights[column] = getColumnHeight(column);
+        }
+        int aggregateHeight = 0;
+        int maxHeight = 0;
+        int holes = 0;
+        int bumpiness = 0;
+        int wellDepthSum = 0;
+        int maxWellDepth = 0;
+        for (int column = 0; column < width; column++) {
+            aggregateHeight += heights[column];
+            maxHeight = Math.max(maxHeight, heights[column]);
+            for (int row = height - heights[column]; row < height; row++) {
+                if (cells[row][column] == 0) holes++;
+            }
+            if (column > 0) {
+                bumpiness += Math.abs(heights[column - 1] - heights[column]);
+            }
+            int wellDepth = getWellDepth(column);
+            wellDepthSum += wellDepth;
+            maxWellDepth = Math.max(maxWellDepth, wellDepth);
+        }
+
+        // Transitions between filled and empty along each non-empty row, the walls counting as filled
+        int rowTransitions = 0;
+        for (int row = 0; row < height; row++) {
+            if (getRowFill(row) == 0) continue;
+            for (int column = 0; column <= width; column++) {
+                boolean left = column == 0 || cells[row][column - 1] != 0;
+                boolean right = column == width || cells[row][column] != 0;
+                if (left != right) rowTransitions++;
+            }
+        }
+
+        into[BoardFeatures.AGGREGATE_HEIGHT] = aggregateHeight;
+        into[BoardFeatures.MAX_HEIGHT] = maxHeight;
+        into[BoardFeatures.HOLES] = holes;
+        into[BoardFeatures.BUMPINESS] = bumpiness;
+        into[BoardFeatures.ROW_TRANSITIONS] = rowTransitions;
+        into[BoardFeatures.WELL_DEPTH_SUM] = wellDepthSum;
+        into[BoardFeatures.MAX_WELL_DEPTH] = maxWellDepth;
+    }
+
+    private static int[][] copy(int[][] original) {
+        int[][] copy = new int[original.length][];
+        for (int row = 0; row < original.length; row++) {
+            copy[row] = original[row].clone();
+        }
+        return copy;
+    }
+}
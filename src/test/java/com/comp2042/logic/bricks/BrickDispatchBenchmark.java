@@ -0,0 +1,196 @@
+// JMH comparison of the sealed Brick and its shape table against the interface dispatch it replaced
+// Both sides run the same rotation-heavy loop over a mixed brick sequence: set the brick on a rotator,
+// then turn it again and again, testing every new rotation against a partly filled board
+// The interface side is a copy of the Brick interface and BrickRotator as they were before the
+// hierarchy was sealed, with one class per brick so its call sites see all seven of them
+//
+// Run with:
+//   mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+//       -Dexec.args="-cp %classpath org.openjdk.jmh.Main BrickDispatch"
+
+package com.comp2042.logic.bricks;
+
+import com.comp2042.model.BrickRotator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OperationsPerInvocation(BrickDispatchBenchmark.BRICKS * BrickDispatchBenchmark.TURNS)
+public class BrickDispatchBenchmark {
+
+    static final int BRICKS = 1024;
+    static final int TURNS = 16;
+
+    // The brick sits low in a 10 wide board whose bottom rows are filled with holes, so some turns are blocked
+    private static final int WIDTH = 10;
+    private static final int HEIGHT = 20;
+    private static final int BRICK_X = 3;
+    private static final int BRICK_Y = 14;
+
+    private final Brick[] sealedBricks = new Brick[BRICKS];
+    private final InterfaceBrick[] interfaceBricks = new InterfaceBrick[BRICKS];
+    private final long[] rows = new long[HEIGHT];
+    private final BrickRotator sealedRotator = new BrickRotator();
+    private final InterfaceRotator interfaceRotator = new InterfaceRotator();
+
+    @Setup
+    public void setUp() {
+        InterfaceBrick[] interfaceTable = {
+                new InterfaceI(), new InterfaceJ(), new InterfaceL(), new InterfaceO(),
+                new InterfaceS(), new InterfaceT(), new InterfaceZ()
+        };
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < BRICKS; i++) {
+            int pieceId = random.nextInt(BrickShapeRegistry.getPieceCount());
+            sealedBricks[i] = BrickShapeRegistry.getBrick(pieceId);
+            interfaceBricks[i] = interfaceTable[pieceId];
+        }
+        long full = (1L << WIDTH) - 1;
+        for (int row = HEIGHT - 3; row < HEIGHT; row++) {
+            rows[row] = full & ~(1L << random.nextInt(WIDTH)) & ~(1L << random.nextInt(WIDTH));
+        }
+    }
+
+    @Benchmark
+    public int sealedTable() {
+        int turned = 0;
+        for (int i = 0; i < BRICKS; i++) {
+            sealedRotator.setBrick(sealedBricks[i]);
+            for (int turn = 0; turn < TURNS; turn++) {
+                int next = sealedRotator.getNextRotation();
+                if (fits(sealedRotator.getBrickShape(next))) {
+                    sealedRotator.setCurrentShape(next);
+                    turned++;
+                }
+            }
+        }
+        return turned;
+    }
+
+    @Benchmark
+    public int interfaceDispatch() {
+        int turned = 0;
+        for (int i = 0; i < BRICKS; i++) {
+            interfaceRotator.setBrick(interfaceBricks[i]);
+            for (int turn = 0; turn < TURNS; turn++) {
+                int next = interfaceRotator.getNextRotation();
+                if (fits(interfaceRotator.getBrickShape(next))) {
+                    interfaceRotator.setCurrentShape(next);
+                    turned++;
+                }
+            }
+        }
+        return turned;
+    }
+
+    private boolean fits(BrickShape shape) {
+        for (int row = shape.getMinRow(); row <= shape.getMaxRow(); row++) {
+            if ((rows[BRICK_Y + row] & (shape.getRowMask(row) << BRICK_X)) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // The Brick interface before it was sealed
+    interface InterfaceBrick {
+
+        int getPieceId();
+
+        default List<BrickShape> getShapes() {
+            return BrickShapeRegistry.getShapes(getPieceId());
+        }
+    }
+
+    static final class InterfaceI implements InterfaceBrick {
+        @Override
+        public int getPieceId() {
+            return BrickShapeRegistry.I;
+        }
+    }
+
+    static final class InterfaceJ implements InterfaceBrick {
+        @Override
+        public int getPieceId() {
+            return BrickShapeRegistry.J;
+        }
+    }
+
+    static final class InterfaceL implements InterfaceBrick {
+        @Override
+        public int getPieceId() {
+            return BrickShapeRegistry.L;
+        }
+    }
+
+    static final class InterfaceO implements InterfaceBrick {
+        @Override
+        public int getPieceId() {
+            return BrickShapeRegistry.O;
+        }
+    }
+
+    static final class InterfaceS implements InterfaceBrick {
+        @Override
+        public int getPieceId() {
+            return BrickShapeRegistry.S;
+        }
+    }
+
+    static final class InterfaceT implements InterfaceBrick {
+        @Override
+        public int getPieceId() {
+            return BrickShapeRegistry.T;
+        }
+    }
+
+    static final class InterfaceZ implements InterfaceBrick {
+        @Override
+        public int getPieceId() {
+            return BrickShapeRegistry.Z;
+        }
+    }
+
+    // BrickRotator before the sealed hierarchy: the brick's shape list is fetched through the interface
+    // and every turn goes through List.size and List.get
+    static final class InterfaceRotator {
+
+        private List<BrickShape> shapes;
+        private int currentShape = 0;
+
+        BrickShape getBrickShape(int rotation) {
+            return shapes.get(rotation);
+        }
+
+        int getNextRotation() {
+            return (currentShape + 1) % shapes.size();
+        }
+
+        void setCurrentShape(int currentShape) {
+            this.currentShape = currentShape;
+        }
+
+        void setBrick(InterfaceBrick brick) {
+            this.shapes = brick.getShapes();
+            currentShape = 0;
+        }
+    }
+}
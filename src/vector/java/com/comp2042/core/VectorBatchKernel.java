@@ -0,0 +1,56 @@
+// BatchKernel that handles as many lanes per instruction as the CPU's preferred vector width allows
+// The engine lays the covered board rows out like the masks, so every load and store is a plain
+// contiguous one
+// Lanes left over after the last full vector are done by the scalar kernel
+// Needs the jdk.incubator.vector module, so it is only compiled with the vector profile (mvn -Pvector)
+// and BatchEngine only creates it when asked to and the module is loaded
+
+package com.comp2042.core;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+final class VectorBatchKernel implements BatchKernel {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    @Override
+    public void collide(int[] coveredRows, int[] masks, int lanes, int[] hits) {
+        int bound = SPECIES.loopBound(lanes);
+        for (int lane = 0; lane < bound; lane += SPECIES.length()) {
+            IntVector hit = IntVector.zero(SPECIES);
+            for (int k = 0; k < BRICK_ROWS; k++) {
+                int i = k * lanes + lane;
+                IntVector mask = IntVector.fromArray(SPECIES, masks, i);
+                hit = hit.or(IntVector.fromArray(SPECIES, coveredRows, i).and(mask));
+            }
+            IntVector.zero(SPECIES).blend(1, hit.compare(VectorOperators.NE, 0)).intoArray(hits, lane);
+        }
+        if (bound < lanes) {
+            ScalarBatchKernel.collide(coveredRows, masks, lanes, bound, hits);
+        }
+    }
+
+    @Override
+    public void merge(int[] coveredRows, int[] masks, int lanes, int fullMask, int[] fullRows) {
+        int bound = SPECIES.loopBound(lanes);
+        for (int lane = 0; lane < bound; lane += SPECIES.length()) {
+            IntVector full = IntVector.zero(SPECIES);
+            for (int k = 0; k < BRICK_ROWS; k++) {
+                int i = k * lanes + lane;
+                IntVector mask = IntVector.fromArray(SPECIES, masks, i);
+                IntVector merged = IntVector.fromArray(SPECIES, coveredRows, i).or(mask);
+                merged.intoArray(coveredRows, i);
+                VectorMask<Integer> completed = merged.compare(VectorOperators.EQ, fullMask)
+                        .and(mask.compare(VectorOperators.NE, 0));
+                full = full.lanewise(VectorOperators.OR, 1 << k, completed);
+            }
+            full.intoArray(fullRows, lane);
+        }
+        if (bound < lanes) {
+            ScalarBatchKernel.merge(coveredRows, masks, lanes, bound, fullMask, fullRows);
+        }
+    }
+}